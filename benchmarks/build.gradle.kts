@@ -0,0 +1,40 @@
+plugins {
+	java
+	id(BuildPlugins.jmh) version BuildPlugins.Versions.jmh
+}
+
+java {
+	sourceCompatibility = JavaVersion.VERSION_1_8
+	targetCompatibility = JavaVersion.VERSION_1_8
+}
+
+// The SDK is an Android library, so the pure-Java eosio.commander sources are compiled here directly
+// to benchmark them on a plain JVM.
+sourceSets {
+	main {
+		java {
+			srcDir("../protonsdk/src/main/java")
+			include("com/metallicus/protonsdk/eosio/commander/**")
+			include("android/annotation/**")
+			exclude("**/PRNGFixes.java")
+		}
+	}
+}
+
+dependencies {
+	implementation(Libraries.gson)
+	implementation(Libraries.guava)
+}
+
+// ./gradlew :benchmarks:jmh [-Pjmh.include=<regex>]
+jmh {
+	jmhVersion = BenchmarkLibraries.jmhVersion
+	fork = 1
+	warmupIterations = 5
+	iterations = 5
+	profilers = listOf("gc")
+	resultFormat = "JSON"
+	if (project.hasProperty("jmh.include")) {
+		include = listOf(project.property("jmh.include").toString())
+	}
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2021 Proton Chain LLC, Delaware
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.metallicus.protonsdk.benchmarks;
+
+import com.metallicus.protonsdk.eosio.commander.digest.Sha256;
+import com.metallicus.protonsdk.eosio.commander.ec.EcDsa;
+import com.metallicus.protonsdk.eosio.commander.ec.EcSignature;
+import com.metallicus.protonsdk.eosio.commander.ec.EosPrivateKey;
+import com.metallicus.protonsdk.eosio.commander.ec.EosPublicKey;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class EcDsaBenchmark {
+
+	@Param({"K1", "R1"})
+	public String curve;
+
+	private EosPrivateKey privateKey;
+	private EosPublicKey publicKey;
+	private Sha256 digest;
+	private byte[] digestBytes;
+	private EcSignature signature;
+
+	@Setup
+	public void setup() {
+		privateKey = new EosPrivateKey(TestKeys.privateKey(curve));
+		publicKey = privateKey.getPublicKey();
+		digest = Sha256.from("proton benchmark message".getBytes());
+		digestBytes = digest.getBytes();
+		signature = EcDsa.sign(digest, privateKey);
+	}
+
+	@Benchmark
+	public EcSignature sign() {
+		return EcDsa.sign(digest, privateKey);
+	}
+
+	@Benchmark
+	public EosPublicKey recoverPubKey() {
+		return EcDsa.recoverPubKey(digestBytes, signature);
+	}
+
+	@Benchmark
+	public boolean verify() {
+		return EcDsa.verify(digestBytes, signature, publicKey);
+	}
+}
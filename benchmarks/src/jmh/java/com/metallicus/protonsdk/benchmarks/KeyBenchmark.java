@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2021 Proton Chain LLC, Delaware
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.metallicus.protonsdk.benchmarks;
+
+import com.metallicus.protonsdk.eosio.commander.ec.EosPrivateKey;
+import com.metallicus.protonsdk.eosio.commander.ec.EosPublicKey;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class KeyBenchmark {
+
+	@Param({"K1", "R1"})
+	public String curve;
+
+	private String privateKeyStr;
+	private String publicKeyStr;
+	private EosPublicKey publicKey;
+
+	@Setup
+	public void setup() {
+		privateKeyStr = TestKeys.privateKey(curve);
+		publicKeyStr = TestKeys.publicKey(curve);
+		publicKey = new EosPublicKey(publicKeyStr);
+	}
+
+	// includes deriving the public key
+	@Benchmark
+	public EosPrivateKey parsePrivateKey() {
+		return new EosPrivateKey(privateKeyStr);
+	}
+
+	@Benchmark
+	public EosPublicKey parsePublicKey() {
+		return new EosPublicKey(publicKeyStr);
+	}
+
+	@Benchmark
+	public String publicKeyToString() {
+		return publicKey.toString();
+	}
+}
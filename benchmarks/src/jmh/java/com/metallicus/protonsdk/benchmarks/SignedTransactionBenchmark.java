@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2021 Proton Chain LLC, Delaware
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.metallicus.protonsdk.benchmarks;
+
+import com.metallicus.protonsdk.eosio.commander.ec.EosPrivateKey;
+import com.metallicus.protonsdk.eosio.commander.model.chain.Action;
+import com.metallicus.protonsdk.eosio.commander.model.chain.SignedTransaction;
+import com.metallicus.protonsdk.eosio.commander.model.types.TypeChainId;
+import com.metallicus.protonsdk.eosio.commander.model.types.TypePermissionLevel;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class SignedTransactionBenchmark {
+
+	// serialized eosio.token::transfer arguments
+	private static final String TRANSFER_DATA =
+		"0000000000855c340000000000000e3d102700000000000004585052000000000962656e63686d61726b";
+
+	@Param({"1", "10"})
+	public int actions;
+
+	private EosPrivateKey privateKey;
+	private TypeChainId chainId;
+	private SignedTransaction transaction;
+
+	@Setup
+	public void setup() {
+		privateKey = new EosPrivateKey(TestKeys.K1_PRIVATE);
+		chainId = new TypeChainId(TestKeys.CHAIN_ID);
+
+		transaction = new SignedTransaction();
+		for (int i = 0; i < actions; i++) {
+			transaction.addAction(new Action("eosio.token", "transfer",
+				new TypePermissionLevel("alice", "active"), TRANSFER_DATA));
+		}
+		transaction.setReferenceBlock("0a1b2c3d4e5f60718293a4b5c6d7e8f90a1b2c3d4e5f60718293a4b5c6d7e8f9");
+		transaction.setExpiration("2021-10-01T00:00:30");
+	}
+
+	@Benchmark
+	public List<String> sign() {
+		transaction.putSignatures(null);
+		transaction.sign(privateKey, chainId);
+		return transaction.getSignatures();
+	}
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2021 Proton Chain LLC, Delaware
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.metallicus.protonsdk.benchmarks;
+
+/**
+ * Fixed keys, so every run signs and parses the same data.
+ */
+final class TestKeys {
+	static final String K1_PRIVATE = "5HpjvrNcfPBRsCii5MmpeyHpS5AfJmndmKksYR48unvo5Sf2wxq";
+	static final String K1_PUBLIC = "EOS8CHSL3hLcCULMxxkk7paDmynXQ4YSHu4gCTZXbMzGGPMSnz9CB";
+
+	static final String R1_PRIVATE = "PVT_R1_TMAvXavcScCLS3AKvZvYhDULk6dvZ3Wh6KF1Pfv59uqWg9Fc";
+	static final String R1_PUBLIC = "PUB_R1_6gBaKVh4qxuMKbEukAaB4aMLM9DmdvrQaAuQGUW6jBdZybpXB1";
+
+	static final String CHAIN_ID = "384da888112027f0321850a169f737c33e53b388aad48b5adace4bab97f437e0";
+
+	private TestKeys() {
+	}
+
+	static String privateKey(String curve) {
+		return "R1".equals(curve) ? R1_PRIVATE : K1_PRIVATE;
+	}
+
+	static String publicKey(String curve) {
+		return "R1".equals(curve) ? R1_PUBLIC : K1_PUBLIC;
+	}
+}
@@ -31,6 +31,7 @@ object BuildPlugins {
 	object Versions {
 		const val gradle = "4.2.2"
 		const val dokka = "0.10.1" // TODO: 1.4.0
+		const val jmh = "0.5.3"
 	}
 
 	const val androidGradlePlugin = "com.android.tools.build:gradle:${Versions.gradle}"
@@ -40,6 +41,7 @@ object BuildPlugins {
 	const val mavenPublish = "maven-publish"
 	const val dokka = "org.jetbrains.dokka"
 	const val orchid = "com.eden.orchidPlugin"
+	const val jmh = "me.champeau.gradle.jmh"
 }
 
 object Android {
@@ -110,6 +112,10 @@ object TestLibraries {
 	const val testRunner = "androidx.test.runner.AndroidJUnitRunner"
 }
 
+object BenchmarkLibraries {
+	const val jmhVersion = "1.33"
+}
+
 object Publishing {
 	const val groupId = "com.metallicus"
 	const val artifactId = "protonsdk"
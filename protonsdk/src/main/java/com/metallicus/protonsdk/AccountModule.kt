@@ -34,6 +34,7 @@ import com.greymass.esr.models.TransactionContext
 import com.metallicus.protonsdk.common.Prefs
 import com.metallicus.protonsdk.common.Resource
 import com.metallicus.protonsdk.common.SecureKeys
+import com.metallicus.protonsdk.common.SignerCache
 import com.metallicus.protonsdk.di.DaggerInjector
 import com.metallicus.protonsdk.eosio.commander.BitUtils
 import com.metallicus.protonsdk.eosio.commander.HexUtils
@@ -43,6 +44,7 @@ import com.metallicus.protonsdk.eosio.commander.ec.EosPrivateKey
 import com.metallicus.protonsdk.eosio.commander.ec.EosPublicKey
 import com.metallicus.protonsdk.eosio.commander.model.types.TypeChainId
 import com.metallicus.protonsdk.model.*
+import com.metallicus.protonsdk.repository.AbiRepository
 import com.metallicus.protonsdk.repository.AccountContactRepository
 import com.metallicus.protonsdk.repository.AccountRepository
 import com.metallicus.protonsdk.repository.ChainProviderRepository
@@ -81,12 +83,18 @@ class AccountModule {
 	@Inject
 	lateinit var esrRepository: ESRRepository
 
+	@Inject
+	lateinit var abiRepository: AbiRepository
+
 	@Inject
 	lateinit var prefs: Prefs
 
 	@Inject
 	lateinit var secureKeys: SecureKeys
 
+	@Inject
+	lateinit var signerCache: SignerCache
+
 	init {
 		DaggerInjector.component.inject(this)
 	}
@@ -393,8 +401,8 @@ class AccountModule {
 
 	private fun signWithActiveKey(pin: String, data: ByteArray): String {
 		val publicKey = prefs.getActivePublicKey()
-		val privateKeyStr = secureKeys.getPrivateKey(publicKey, pin)
-		val privateKey = EosPrivateKey(privateKeyStr)
+		val privateKeyStr = secureKeys.getPrivateKey(publicKey, pin).orEmpty()
+		val privateKey = signerCache.getSigner(publicKey, privateKeyStr)
 		val sha256 = Sha256.from(data)
 		return privateKey.sign(sha256).toString()
 	}
@@ -463,14 +471,8 @@ class AccountModule {
 
 	private suspend fun newSigningRequest(chainUrl: String): SigningRequest {
 		val esr = ESR(context) { account ->
-			runBlocking {
-				val response = chainProviderRepository.getAbi(chainUrl, account)
-				if (response.isSuccessful) {
-					val abiJson = response.body()?.get("abi")
-					abiJson?.toString().orEmpty()
-				} else {
-					response.errorBody()?.toString().orEmpty()
-				}
+			abiRepository.getCachedAbiJson(chainUrl, account) ?: runBlocking {
+				abiRepository.getAbiJson(chainUrl, account).orEmpty()
 			}
 		}
 		return SigningRequest(esr)
@@ -697,7 +699,7 @@ class AccountModule {
 		val sealedMessageSigningRequest = newSigningRequest(chainUrl)
 		val sealedMessage = sealedMessageSigningRequest.decodeSealedMessage(message)
 
-		val sealedPublicKey = EosPublicKey(sealedMessage.from)
+		val sealedPublicKey = EosPublicKey.fromString(sealedMessage.from)
 
 		val sharedSecret = EosPrivateKey(esrSession.receiveKey).getSharedSecret(sealedPublicKey)
 
@@ -23,14 +23,18 @@ package com.metallicus.protonsdk
 
 import android.content.Context
 import com.google.gson.Gson
+import com.google.gson.JsonElement
 import com.google.gson.JsonObject
+import com.google.gson.JsonParseException
 import com.google.gson.JsonParser
 import com.metallicus.protonsdk.common.Prefs
+import com.metallicus.protonsdk.common.ProtonError
 import com.metallicus.protonsdk.common.Resource
 import com.metallicus.protonsdk.common.SecureKeys
+import com.metallicus.protonsdk.common.SignerCache
 import com.metallicus.protonsdk.common.Status
 import com.metallicus.protonsdk.di.DaggerInjector
-import com.metallicus.protonsdk.eosio.commander.ec.EosPrivateKey
+import com.metallicus.protonsdk.eosio.commander.HexUtils
 import com.metallicus.protonsdk.eosio.commander.model.chain.Action
 import com.metallicus.protonsdk.eosio.commander.model.chain.PackedTransaction
 import com.metallicus.protonsdk.eosio.commander.model.chain.SignedTransaction
@@ -38,16 +42,67 @@ import com.metallicus.protonsdk.eosio.commander.model.types.EosTransfer
 import com.metallicus.protonsdk.eosio.commander.model.types.TypeChainId
 import com.metallicus.protonsdk.model.*
 import com.metallicus.protonsdk.model.Action as AccountAction
+import com.metallicus.protonsdk.repository.AbiRepository
 import com.metallicus.protonsdk.repository.AccountContactRepository
 import com.metallicus.protonsdk.repository.ActionRepository
 import com.metallicus.protonsdk.repository.ChainProviderRepository
+import com.metallicus.protonsdk.repository.TaposRepository
+import kotlinx.coroutines.async
+import kotlinx.coroutines.awaitAll
+import kotlinx.coroutines.channels.Channel
+import kotlinx.coroutines.coroutineScope
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.channelFlow
+import kotlinx.coroutines.flow.collectIndexed
+import kotlinx.coroutines.flow.flow
+import kotlinx.coroutines.flow.toList
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.sync.Semaphore
+import kotlinx.coroutines.sync.withPermit
 import timber.log.Timber
+import java.io.IOException
+import java.text.ParseException
+import java.text.SimpleDateFormat
+import java.util.Locale
+import java.util.TimeZone
+import java.util.concurrent.TimeUnit
 import javax.inject.Inject
 
 /**
  * Helper class used for [Action] based operations
  */
 class ActionsModule {
+	companion object {
+		const val MAX_CONCURRENT_JSON_TO_BIN = 4
+
+		const val MAX_CONCURRENT_PUSHES = 8
+		const val PUSH_QUEUE_CAPACITY = 64
+
+		// a bulk transfer transaction uses at most this fraction (1/n) of a block's cpu and net
+		const val BULK_TRANSFER_BLOCK_SHARE = 10
+		const val ESTIMATED_TRANSFER_CPU_US = 250
+		// signed bulk transfer transactions waiting for a push slot
+		const val BULK_TRANSFER_SIGN_AHEAD = 2
+
+		// packed transaction header, signature and push_transaction envelope
+		const val TRANSACTION_OVERHEAD_BYTES = 128
+		// account, name, one authorization and the data length
+		const val ACTION_OVERHEAD_BYTES = 8 + 8 + 1 + 16 + 5
+		// from, to and quantity; the memo comes on top
+		const val TRANSFER_DATA_BYTES = 8 + 8 + 16 + 5
+
+		const val MAX_PUSH_ATTEMPTS = 3
+		val PUSH_RETRY_DELAY_MILLIS = TimeUnit.SECONDS.toMillis(1)
+
+		val INCLUSION_POLL_INTERVAL_MILLIS = TimeUnit.SECONDS.toMillis(3)
+		// after this the outcome is reported as pending rather than waited for
+		val MAX_INCLUSION_POLL_MILLIS = TimeUnit.MINUTES.toMillis(10)
+
+		// tx_duplicate
+		const val DUPLICATE_TRANSACTION_ERROR_CODE = 3040008
+	}
+
 	@Inject
 	lateinit var context: Context
 
@@ -60,12 +115,21 @@ class ActionsModule {
 	@Inject
 	lateinit var accountContactRepository: AccountContactRepository
 
+	@Inject
+	lateinit var abiRepository: AbiRepository
+
+	@Inject
+	lateinit var taposRepository: TaposRepository
+
 	@Inject
 	lateinit var prefs: Prefs
 
 	@Inject
 	lateinit var secureKeys: SecureKeys
 
+	@Inject
+	lateinit var signerCache: SignerCache
+
 	init {
 		DaggerInjector.component.inject(this)
 	}
@@ -216,70 +280,55 @@ class ActionsModule {
 	suspend fun signTransaction(chainUrl: String, pin: String, actions: List<Action>): Resource<SignedTransaction>{
 		return try {
 			if (actions.isNotEmpty()) {
-				var jsonToBinErrorMsg = ""
-				run loop@ {
-					actions.forEach { action ->
-						val jsonToBinResponse = actionRepository.jsonToBin(
-							chainUrl,
-							action.account,
-							action.name,
-							JsonParser.parseString(action.data.asString)
-						)
-						if (jsonToBinResponse.isSuccessful) {
-							val jsonToBin = jsonToBinResponse.body()
-
-							requireNotNull(jsonToBin)
-
-							action.setData(jsonToBin.binArgs)
-						} else {
-							val msg = jsonToBinResponse.errorBody()?.string()
-							val errorMsg = if (msg.isNullOrEmpty()) {
-								jsonToBinResponse.message()
-							} else {
-								msg
+				coroutineScope {
+					// the TAPoS header is only needed once every action is packed, so fetch it alongside
+					val taposDeferred = async { taposRepository.getTapos(chainUrl) }
+
+					val jsonToBinPermits = Semaphore(MAX_CONCURRENT_JSON_TO_BIN)
+					val binArgsResources = actions.map { action ->
+						async {
+							jsonToBinPermits.withPermit {
+								getBinArgs(chainUrl, action)
 							}
+						}
+					}.awaitAll()
 
-							jsonToBinErrorMsg = errorMsg
-							return@loop
+					// report the first failing action, as when they were converted one by one
+					val jsonToBinError = binArgsResources.firstOrNull { it.status != Status.SUCCESS }
+					if (jsonToBinError != null) {
+						taposDeferred.cancel()
+						Resource.error(jsonToBinError.message.orEmpty())
+					} else {
+						actions.forEachIndexed { i, action ->
+							action.setData(binArgsResources[i].data)
 						}
-					}
-				}
 
-				if (jsonToBinErrorMsg.isNotEmpty()) {
-					Resource.error(jsonToBinErrorMsg)
-				} else {
-					val signedTransaction = SignedTransaction()
-					signedTransaction.actions = actions
+						val signedTransaction = SignedTransaction()
+						signedTransaction.actions = actions
 
-					val chainInfoResponse = chainProviderRepository.getChainInfo(chainUrl)
-					if (chainInfoResponse.isSuccessful) {
-						val chainInfo = chainInfoResponse.body()
+						val taposResource = taposDeferred.await()
+						if (taposResource.status == Status.SUCCESS) {
+							val tapos = taposResource.data
 
-						requireNotNull(chainInfo)
+							requireNotNull(tapos)
 
-						signedTransaction.setReferenceBlock(chainInfo.headBlockId)
-						signedTransaction.expiration = chainInfo.getTimeAfterHeadBlockTime(30000)
+							signedTransaction.setReferenceBlock(tapos.refBlockId)
+							signedTransaction.expiration = tapos.expiration
 
-						val publicKey = prefs.getActivePublicKey()
+							val publicKey = prefs.getActivePublicKey()
 
-						val privateKeyStr = secureKeys.getPrivateKey(publicKey, pin)
+							val privateKeyStr = secureKeys.getPrivateKey(publicKey, pin)
 
-						require(privateKeyStr != null && privateKeyStr != "") { "No private key found" }
+							require(privateKeyStr != null && privateKeyStr != "") { "No private key found" }
 
-						val privateKey = EosPrivateKey(privateKeyStr)
+							val privateKey = signerCache.getSigner(publicKey, privateKeyStr)
 
-						signedTransaction.sign(privateKey, TypeChainId(chainInfo.chainId))
+							signedTransaction.sign(privateKey, TypeChainId(tapos.chainId))
 
-						Resource.success(signedTransaction)
-					} else {
-						val msg = chainInfoResponse.errorBody()?.string()
-						val errorMsg = if (msg.isNullOrEmpty()) {
-							chainInfoResponse.message()
+							Resource.success(signedTransaction)
 						} else {
-							msg
+							Resource.error(taposResource.message.orEmpty())
 						}
-
-						Resource.error(errorMsg)
 					}
 				}
 			} else {
@@ -290,6 +339,51 @@ class ActionsModule {
 		}
 	}
 
+	private suspend fun getBinArgs(chainUrl: String, action: Action): Resource<String> {
+		val args = JsonParser.parseString(action.data.asString)
+
+		// pack locally from the contract ABI, only asking the node if that is not possible
+		val binArgs = packActionData(chainUrl, action, args)
+		if (binArgs != null) {
+			return Resource.success(binArgs)
+		}
+
+		val jsonToBinResponse = actionRepository.jsonToBin(
+			chainUrl,
+			action.account,
+			action.name,
+			args
+		)
+		return if (jsonToBinResponse.isSuccessful) {
+			val jsonToBin = jsonToBinResponse.body()
+
+			requireNotNull(jsonToBin)
+
+			Resource.success(jsonToBin.binArgs)
+		} else {
+			val msg = jsonToBinResponse.errorBody()?.string()
+			val errorMsg = if (msg.isNullOrEmpty()) {
+				jsonToBinResponse.message()
+			} else {
+				msg
+			}
+
+			Resource.error(errorMsg)
+		}
+	}
+
+	private suspend fun packActionData(chainUrl: String, action: Action, args: JsonElement): String? {
+		val abiSerializer = abiRepository.getAbiSerializer(chainUrl, action.account) ?: return null
+		return try {
+			HexUtils.toHex(abiSerializer.packActionData(action.name, args))
+		} catch (e: IllegalArgumentException) {
+			// the cached ABI may be out of date; abi_json_to_bin will report what is wrong otherwise
+			Timber.d(e)
+			abiRepository.revalidate(chainUrl, action.account)
+			null
+		}
+	}
+
 	suspend fun transferTokens(chainUrl: String, pin: String, contract: String, from: String,
 							   to: String, quantity: String, memo: String): Resource<JsonObject> {
 		return try {
@@ -306,6 +400,93 @@ class ActionsModule {
 		}
 	}
 
+	/**
+	 * Transfers tokens from [from] to many accounts with as few transactions as possible.
+	 *
+	 * Transfers are packed, in order, into transactions sized to stay well under the chain's block cpu and
+	 * net limits. The first transaction is signed before anything is pushed, so a wrong pin pushes nothing;
+	 * the others are signed as push slots free up, at most [BULK_TRANSFER_SIGN_AHEAD] ahead of the pushes,
+	 * and each transaction succeeds or fails on its own. If a later transaction cannot be signed, no more are
+	 * signed and the error carries the results of those already pushed.
+	 *
+	 * @return	a result per pushed transaction, in order; each holds a consecutive run of [transfers]
+	 */
+	suspend fun transferTokensBulk(chainUrl: String, pin: String, contract: String, from: String,
+								   transfers: List<TokenTransfer>): Resource<List<TransactionPushResult>> {
+		return try {
+			if (transfers.isNotEmpty()) {
+				val chainInfoResource = taposRepository.getChainInfo(chainUrl)
+				val chainInfo = chainInfoResource.data
+				if (chainInfo != null) {
+					val batches = batchTransfers(contract, from, transfers, chainInfo)
+
+					val firstResource = signTransaction(chainUrl, pin, batches.first())
+					val first = firstResource.data
+					if (firstResource.status != Status.SUCCESS || first == null) {
+						return Resource.error(firstResource.message.orEmpty())
+					}
+
+					var signError: String? = null
+					val signedTransactions = flow {
+						emit(first)
+						for (actions in batches.drop(1)) {
+							val signedTransactionResource = signTransaction(chainUrl, pin, actions)
+							val signedTransaction = signedTransactionResource.data
+							if (signedTransactionResource.status != Status.SUCCESS || signedTransaction == null) {
+								signError = signedTransactionResource.message.orEmpty()
+								break
+							}
+							emit(signedTransaction)
+						}
+					}
+
+					val results = pushTransactions(chainUrl, signedTransactions,
+						queueCapacity = BULK_TRANSFER_SIGN_AHEAD).toList().sortedBy { it.index }
+					signError?.let {
+						Resource(Status.ERROR, results, it, ProtonError.DEFAULT_ERROR)
+					} ?: Resource.success(results)
+				} else {
+					Resource.error(chainInfoResource.message.orEmpty())
+				}
+			} else {
+				Resource.error("No Transfers")
+			}
+		} catch (e: Exception) {
+			Resource.error(e.localizedMessage.orEmpty())
+		}
+	}
+
+	private fun batchTransfers(contract: String, from: String, transfers: List<TokenTransfer>,
+							   chainInfo: ChainInfo): List<List<Action>> {
+		val maxBytes = chainInfo.blockNetLimit / BULK_TRANSFER_BLOCK_SHARE
+		val maxActions = maxOf(1, chainInfo.blockCpuLimit / BULK_TRANSFER_BLOCK_SHARE / ESTIMATED_TRANSFER_CPU_US)
+
+		val batches = mutableListOf<List<Action>>()
+		var batch = mutableListOf<Action>()
+		var batchBytes = TRANSACTION_OVERHEAD_BYTES
+
+		transfers.forEach { transfer ->
+			val eosTransfer = EosTransfer(from, transfer.to, transfer.quantity, transfer.memo)
+
+			val action = Action(contract, eosTransfer.action)
+			action.setAuthorization(eosTransfer.activePermission)
+			action.setData(eosTransfer.jsonToBinArgs())
+
+			val actionBytes = ACTION_OVERHEAD_BYTES + TRANSFER_DATA_BYTES + transfer.memo.toByteArray().size
+			if (batch.isNotEmpty() && (batch.size >= maxActions || batchBytes + actionBytes > maxBytes)) {
+				batches.add(batch)
+				batch = mutableListOf()
+				batchBytes = TRANSACTION_OVERHEAD_BYTES
+			}
+
+			batch.add(action)
+			batchBytes += actionBytes
+		}
+		batches.add(batch)
+
+		return batches
+	}
+
 	suspend fun signAndPushTransaction(chainUrl: String, pin: String, actions: List<Action>): Resource<JsonObject> {
 		return try {
 			val signedTransactionResource = signTransaction(chainUrl, pin, actions)
@@ -327,6 +508,256 @@ class ActionsModule {
 		}
 	}
 
+	/**
+	 * Pushes many signed transactions, [maxConcurrent] at a time.
+	 *
+	 * Transactions are taken from [signedTransactions] into a queue of [queueCapacity]; collecting it is
+	 * suspended while the queue is full, so a large or slow producer is never buffered whole. A result is
+	 * emitted for every transaction as soon as its push completes, so results are not in submission order;
+	 * use [TransactionPushResult.index] to match them up. A failed push does not stop the others.
+	 */
+	fun pushTransactions(
+		chainUrl: String,
+		signedTransactions: Flow<SignedTransaction>,
+		maxConcurrent: Int = MAX_CONCURRENT_PUSHES,
+		queueCapacity: Int = PUSH_QUEUE_CAPACITY
+	): Flow<TransactionPushResult> = channelFlow {
+		val queue = Channel<IndexedValue<SignedTransaction>>(queueCapacity)
+
+		launch {
+			try {
+				signedTransactions.collectIndexed { index, signedTransaction ->
+					queue.send(IndexedValue(index, signedTransaction))
+				}
+			} finally {
+				queue.close()
+			}
+		}
+
+		repeat(maxConcurrent) {
+			launch {
+				for ((index, signedTransaction) in queue) {
+					send(TransactionPushResult(index, signedTransaction, pushTransaction(chainUrl, signedTransaction)))
+				}
+			}
+		}
+	}
+
+	suspend fun signAndPushTransactionIdempotent(chainUrls: List<String>, hyperionHistoryUrl: String, pin: String,
+												 actions: List<Action>): Resource<JsonObject> {
+		return try {
+			val signedTransactionResource = signTransaction(chainUrls.first(), pin, actions)
+			when (signedTransactionResource.status) {
+				Status.SUCCESS -> {
+					signedTransactionResource.data?.let {
+						pushTransactionIdempotent(chainUrls, hyperionHistoryUrl, it)
+					} ?: Resource.error("No SignedTransaction")
+				}
+				Status.ERROR -> {
+					Resource.error(signedTransactionResource.message.orEmpty(), signedTransactionResource.code ?: -1)
+				}
+				Status.LOADING -> {
+					Resource.loading()
+				}
+			}
+		} catch (e: Exception) {
+			Resource.error(e.localizedMessage.orEmpty())
+		}
+	}
+
+	/**
+	 * Pushes [signedTransaction] with retries that can never apply it twice.
+	 *
+	 * The chain identifies a transaction by its id, the sha256 of its packed form, so pushing the same
+	 * signed transaction again is at worst rejected as a duplicate. A push that times out or fails in
+	 * transport is retried on the next of [chainUrls], and a "duplicate transaction" answer counts as
+	 * success. A transaction the chain rejects is not retried, and the rejection is only reported as is
+	 * when no earlier attempt could have been accepted.
+	 *
+	 * If no attempt got a clear answer, [hyperionHistoryUrl] is polled for the transaction. It is only
+	 * reported as not included once the last irreversible block is past its expiration and the history
+	 * has indexed up to that block; until then the result is a success with "pending": true. A pending
+	 * transaction must not be signed again, it can still be included.
+	 *
+	 * @return	on success, at least the "transaction_id"; "pending" is true if inclusion is not confirmed yet
+	 */
+	suspend fun pushTransactionIdempotent(chainUrls: List<String>, hyperionHistoryUrl: String,
+										  signedTransaction: SignedTransaction): Resource<JsonObject> {
+		return try {
+			require(chainUrls.isNotEmpty()) { "No chain urls" }
+
+			val packedTransaction = PackedTransaction(signedTransaction)
+			val transactionId = packedTransaction.id
+
+			var errorMsg = ""
+			var ambiguous = false
+			for (attempt in 0 until MAX_PUSH_ATTEMPTS) {
+				if (attempt > 0) {
+					delay(PUSH_RETRY_DELAY_MILLIS * attempt)
+				}
+
+				val chainUrl = chainUrls[attempt % chainUrls.size]
+				val pushTransactionResponse = try {
+					actionRepository.pushTransaction(chainUrl, packedTransaction)
+				} catch (e: IOException) {
+					// timed out or lost the connection; the node may or may not have the transaction
+					Timber.d(e)
+					errorMsg = e.localizedMessage.orEmpty()
+					ambiguous = true
+					continue
+				}
+
+				if (pushTransactionResponse.isSuccessful) {
+					return Resource.success(pushTransactionResponse.body())
+				}
+
+				val msg = pushTransactionResponse.errorBody()?.string()
+				errorMsg = if (msg.isNullOrEmpty()) {
+					pushTransactionResponse.message()
+				} else {
+					msg
+				}
+
+				val eosError = parseEOSError(msg)
+				if (eosError != null) {
+					if (eosError.code == DUPLICATE_TRANSACTION_ERROR_CODE) {
+						// an earlier attempt got through
+						return Resource.success(transactionIdJson(transactionId))
+					}
+
+					// the chain rejected it, pushing it again cannot help
+					taposRepository.invalidate(chainUrl)
+					if (!ambiguous) {
+						return Resource.error(errorMsg)
+					}
+
+					// an earlier attempt may still have been accepted (e.g. this node has not seen its block
+					// yet and the rejection is for expiration), so only the history can tell
+					break
+				}
+
+				// anything else (e.g. a gateway error) did not come from the chain, so try the next node
+				ambiguous = true
+			}
+
+			Timber.d(errorMsg)
+
+			confirmInclusion(chainUrls, hyperionHistoryUrl, transactionId, signedTransaction.expiration)
+		} catch (e: Exception) {
+			Resource.error(e.localizedMessage.orEmpty())
+		}
+	}
+
+	private suspend fun confirmInclusion(chainUrls: List<String>, hyperionHistoryUrl: String, transactionId: String,
+										 expiration: String): Resource<JsonObject> {
+		val expirationMillis = parseChainTime(expiration)
+		val pollUntil = System.currentTimeMillis() + MAX_INCLUSION_POLL_MILLIS
+
+		var attempt = 0
+		while (System.currentTimeMillis() < pollUntil) {
+			delay(INCLUSION_POLL_INTERVAL_MILLIS)
+
+			val chainUrl = chainUrls[attempt++ % chainUrls.size]
+			try {
+				if (isTransactionIndexed(hyperionHistoryUrl, transactionId)) {
+					return Resource.success(transactionIdJson(transactionId))
+				}
+
+				// no block after the expiration can include it, so once those blocks are final and indexed
+				// without it, it never will be
+				val irreversibleBlockNum = getIrreversibleBlockNumAfter(chainUrl, expirationMillis)
+				if (irreversibleBlockNum != null && getIndexedBlockNum(hyperionHistoryUrl) >= irreversibleBlockNum) {
+					return if (isTransactionIndexed(hyperionHistoryUrl, transactionId)) {
+						Resource.success(transactionIdJson(transactionId))
+					} else {
+						Resource.error("Transaction $transactionId expired without being included")
+					}
+				}
+			} catch (e: IOException) {
+				Timber.d(e)
+			}
+		}
+
+		Timber.d("Transaction $transactionId is not confirmed yet")
+
+		val pendingJson = transactionIdJson(transactionId)
+		pendingJson.addProperty("pending", true)
+		return Resource.success(pendingJson)
+	}
+
+	private suspend fun isTransactionIndexed(hyperionHistoryUrl: String, transactionId: String): Boolean {
+		val transactionResponse = actionRepository.getTransaction(hyperionHistoryUrl, transactionId)
+		val executed = transactionResponse.body()?.get("executed")
+		return transactionResponse.isSuccessful && executed != null && executed.isJsonPrimitive && executed.asBoolean
+	}
+
+	/**
+	 * @return the last irreversible block number if that block is later than [timeMillis], otherwise null
+	 */
+	private suspend fun getIrreversibleBlockNumAfter(chainUrl: String, timeMillis: Long): Long? {
+		val chainInfoResponse = chainProviderRepository.getChainInfo(chainUrl)
+		val chainInfo = chainInfoResponse.body()
+		if (!chainInfoResponse.isSuccessful || chainInfo == null) {
+			return null
+		}
+
+		// the irreversible block is older than the head block, so only look it up once the head is past
+		if (parseChainTime(chainInfo.headBlockTime) <= timeMillis) {
+			return null
+		}
+
+		val blockResponse = chainProviderRepository.getBlock(chainUrl, chainInfo.lastIrreversibleBlockNum.toString())
+		val timestamp = blockResponse.body()?.get("timestamp")
+		if (!blockResponse.isSuccessful || timestamp == null || !timestamp.isJsonPrimitive) {
+			return null
+		}
+
+		return if (parseChainTime(timestamp.asString) > timeMillis) chainInfo.lastIrreversibleBlockNum.toLong() else null
+	}
+
+	private suspend fun getIndexedBlockNum(hyperionHistoryUrl: String): Long {
+		var lastIndexedBlock = 0L
+
+		val healthResponse = chainProviderRepository.getHealth(hyperionHistoryUrl)
+		if (healthResponse.isSuccessful) {
+			healthResponse.body()?.getAsJsonArray("health")?.forEach { healthElement ->
+				val serviceObj = healthElement.asJsonObject
+				if (serviceObj.get("service")?.asString == "Elasticsearch") {
+					lastIndexedBlock = serviceObj.getAsJsonObject("service_data")?.get("last_indexed_block")?.asLong ?: 0L
+				}
+			}
+		}
+
+		return lastIndexedBlock
+	}
+
+	// block times carry milliseconds, which are dropped; that only ever makes a time look earlier
+	private fun parseChainTime(time: String): Long {
+		val sdf = SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss", Locale.US)
+		sdf.timeZone = TimeZone.getTimeZone("UTC")
+		return sdf.parse(time)?.time ?: throw ParseException("Invalid time: $time", 0)
+	}
+
+	private fun parseEOSError(msg: String?): EOSError? {
+		if (msg.isNullOrEmpty()) {
+			return null
+		}
+
+		return try {
+			val eosServerError: EOSServerError? = Gson().fromJson(msg, EOSServerError::class.java)
+			val eosError: EOSError? = eosServerError?.error
+			eosError
+		} catch (e: JsonParseException) {
+			null
+		}
+	}
+
+	private fun transactionIdJson(transactionId: String): JsonObject {
+		val jsonObject = JsonObject()
+		jsonObject.addProperty("transaction_id", transactionId)
+		return jsonObject
+	}
+
 	private suspend fun pushTransaction(chainUrl: String, signedTransaction: SignedTransaction): Resource<JsonObject> {
 		return try {
 			val packedTransaction = PackedTransaction(signedTransaction)
@@ -343,6 +774,9 @@ class ActionsModule {
 					msg
 				}
 
+				// the reference block or expiration may be what the node rejected
+				taposRepository.invalidate(chainUrl)
+
 				Resource.error(errorMsg)
 			}
 		} catch (e: Exception) {
@@ -35,6 +35,9 @@ import com.metallicus.protonsdk.eosio.commander.model.chain.SignedTransaction
 import com.metallicus.protonsdk.eosio.commander.model.chain.Action as ChainAction
 import com.metallicus.protonsdk.model.*
 import kotlinx.coroutines.*
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.emitAll
+import kotlinx.coroutines.flow.flow
 import okhttp3.*
 import okhttp3.logging.HttpLoggingInterceptor
 import okio.ByteString
@@ -597,6 +600,38 @@ class Proton private constructor(context: Context) {
 		}
 	}
 
+	/**
+	 * Transfer tokens from the active account to many accounts
+	 *
+	 * The transfers are packed into as few transactions as fit the chain's limits, which are then
+	 * signed and pushed.
+	 *
+	 * @param	pin	used to retrieve the active account's private key
+	 * @param	contract	token contract, e.g. "eosio.token"
+	 * @param	transfers	recipients, quantities and memos
+	 * @return	LiveData<Resource<List<[TransactionPushResult]>>>
+	 */
+	fun transferTokensBulk(pin: String, contract: String, transfers: List<TokenTransfer>): LiveData<Resource<List<TransactionPushResult>>> = liveData {
+		emit(Resource.loading())
+
+		try {
+			val activeAccount = getActiveAccountAsync()
+
+			emit(actionsModule.transferTokensBulk(
+				activeAccount.chainProvider.chainUrl,
+				pin,
+				contract,
+				activeAccount.account.accountName,
+				transfers))
+		} catch (e: ProtonException) {
+			val error: Resource<List<TransactionPushResult>> = Resource.error(e)
+			emit(error)
+		} catch (e: Exception) {
+			val error: Resource<List<TransactionPushResult>> = Resource.error(e.localizedMessage.orEmpty())
+			emit(error)
+		}
+	}
+
 	suspend fun signTransaction(pin: String, actions: List<ChainAction>): Resource<SignedTransaction> {
 		val activeAccount = getActiveAccountAsync()
 
@@ -625,6 +660,56 @@ class Proton private constructor(context: Context) {
 		}
 	}
 
+	/**
+	 * Sign and push a transaction, retrying on other chain urls without risking it being applied twice
+	 *
+	 * A push that fails in transport is retried on the chain provider's other urls, and a duplicate
+	 * transaction counts as success. If no node gave a clear answer, the history is polled for the
+	 * transaction; while it could still be included the result is a success with its "transaction_id"
+	 * and "pending": true, and the actions must not be signed and pushed again.
+	 *
+	 * @param	pin	used to retrieve the active account's private key
+	 * @param	actions	actions of the transaction
+	 * @return	LiveData<Resource<JsonObject>>
+	 */
+	fun signAndPushTransactionIdempotent(pin: String, actions: List<ChainAction>): LiveData<Resource<JsonObject>> = liveData {
+		emit(Resource.loading())
+
+		try {
+			val activeAccount = getActiveAccountAsync()
+			val chainProvider = activeAccount.chainProvider
+
+			emit(actionsModule.signAndPushTransactionIdempotent(
+				(listOf(chainProvider.chainUrl) + chainProvider.chainUrls).distinct(),
+				chainProvider.hyperionHistoryUrl,
+				pin,
+				actions))
+		} catch (e: ProtonException) {
+			val error: Resource<JsonObject> = Resource.error(e)
+			emit(error)
+		} catch (e: Exception) {
+			val error: Resource<JsonObject> = Resource.error(e.localizedMessage.orEmpty())
+			emit(error)
+		}
+	}
+
+	/**
+	 * Push many signed transactions to the active account's chain
+	 *
+	 * Transactions are pushed several at a time, and [signedTransactions] is only collected as fast as
+	 * they can be pushed. Results are emitted as pushes complete, not in submission order.
+	 *
+	 * @param	signedTransactions	transactions signed with [signTransaction]
+	 * @return	Flow<[TransactionPushResult]>
+	 */
+	fun pushTransactions(signedTransactions: Flow<SignedTransaction>): Flow<TransactionPushResult> = flow {
+		val activeAccount = getActiveAccountAsync()
+
+		emitAll(actionsModule.pushTransactions(
+			activeAccount.chainProvider.chainUrl,
+			signedTransactions))
+	}
+
 	fun decodeESR(esrUri: String): LiveData<Resource<ProtonESR>> = liveData {
 		emit(Resource.loading())
 
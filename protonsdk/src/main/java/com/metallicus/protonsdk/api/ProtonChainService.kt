@@ -57,6 +57,7 @@ data class TableRowsBody(
 	val json: Boolean = true)
 data class UserNameBody(val name: String)
 data class JsonToBinBody(val code: String, val action: String, val args: JsonElement)
+data class BlockBody(val block_num_or_id: String)
 data class RequiredKeysBody(val transaction: SignedTransaction, val available_keys: List<String>)
 
 interface ProtonChainService {
@@ -112,6 +113,12 @@ interface ProtonChainService {
 		@Query("limit") limit: Int
 	): Response<JsonObject>
 
+	@GET//("/v2/history/get_transaction?id=")
+	suspend fun getTransaction(
+		@Url url: String,
+		@Query("id") id: String
+	): Response<JsonObject>
+
 	@POST//("/v1/chain/get_table_rows")
 	suspend fun getTableRows(
 		@Url url: String,
@@ -128,6 +135,11 @@ interface ProtonChainService {
 		@Url url: String,
 		@Body body: RequiredKeysBody): Response<RequiredKeysResponse>
 
+	@POST//("/v1/chain/get_block")
+	suspend fun getBlock(
+		@Url url: String,
+		@Body body: BlockBody): Response<JsonObject>
+
 	@POST//("/v1/chain/push_transaction")
 	suspend fun pushTransaction(
 		@Url url: String,
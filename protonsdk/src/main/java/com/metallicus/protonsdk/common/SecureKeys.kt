@@ -27,7 +27,7 @@ import com.metallicus.protonsdk.securestorage.SecurePreferences
 import com.metallicus.protonsdk.securestorage.SecureStorageException
 import timber.log.Timber
 
-class SecureKeys(private val context: Context) {
+class SecureKeys(private val context: Context, private val signerCache: SignerCache) {
 	companion object {
 		const val SHARED_PREFS_FILENAME = "protonsdk.secure_keys"
 	}
@@ -77,6 +77,7 @@ class SecureKeys(private val context: Context) {
 					SecurePreferences.setValue(context, publicKey, it, newPin)
 				}
 			}
+			signerCache.clear()
 			true
 		} catch (e: SecureStorageException) {
 			Timber.d(e)
@@ -113,6 +114,8 @@ class SecureKeys(private val context: Context) {
 			//backupManager.dataChanged()
 		} catch (e: SecureStorageException) {
 			Timber.d(e)
+		} finally {
+			signerCache.evict(publicKey)
 		}
 	}
 
@@ -123,6 +126,8 @@ class SecureKeys(private val context: Context) {
 			//backupManager.dataChanged()
 		} catch (e: SecureStorageException) {
 			Timber.d(e)
+		} finally {
+			signerCache.clear()
 		}
 	}
 }
\ No newline at end of file
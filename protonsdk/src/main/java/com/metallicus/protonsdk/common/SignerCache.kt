@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2021 Proton Chain LLC, Delaware
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.metallicus.protonsdk.common
+
+import com.metallicus.protonsdk.eosio.commander.digest.Sha256
+import com.metallicus.protonsdk.eosio.commander.ec.EosPrivateKey
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.launch
+import java.security.MessageDigest
+import java.util.concurrent.TimeUnit
+
+/**
+ * Bounded in-memory cache of parsed [EosPrivateKey] signers, keyed by public key.
+ *
+ * Callers still fetch the private key string from [SecureKeys] (which checks the PIN); the cache only
+ * skips re-parsing it and re-deriving its public key. An entry is reused only if the key string matches
+ * the one it was built from. Entries idle for longer than [idleTimeoutMillis], or pushed out by the
+ * [maxSize] bound, are wiped with [EosPrivateKey.clear]; idle entries are swept by a timer that runs
+ * while the cache is not empty. [SecureKeys] evicts the signer of a key it removes.
+ */
+class SignerCache(
+	private val maxSize: Int = DEFAULT_MAX_SIZE,
+	private val idleTimeoutMillis: Long = DEFAULT_IDLE_TIMEOUT_MILLIS
+) {
+	companion object {
+		const val DEFAULT_MAX_SIZE = 8
+		val DEFAULT_IDLE_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(5)
+	}
+
+	private class Entry(val signer: EosPrivateKey, val fingerprint: ByteArray) {
+		var lastAccessMillis = 0L
+	}
+
+	private val sweepScope = CoroutineScope(SupervisorJob() + Dispatchers.Default)
+	private var sweepJob: Job? = null
+
+	private val entries = object : LinkedHashMap<String, Entry>(maxSize, 0.75f, true) {
+		override fun removeEldestEntry(eldest: MutableMap.MutableEntry<String, Entry>): Boolean {
+			val evict = size > maxSize
+			if (evict) {
+				eldest.value.signer.clear()
+			}
+			return evict
+		}
+	}
+
+	fun getSigner(publicKey: String, privateKeyStr: String): EosPrivateKey {
+		val fingerprint = Sha256.from(privateKeyStr.toByteArray()).bytes
+		val now = currentTimeMillis()
+
+		synchronized(entries) {
+			evictIdle(now)
+
+			val cached = entries[publicKey]
+			if (cached != null && MessageDigest.isEqual(cached.fingerprint, fingerprint)) {
+				cached.lastAccessMillis = now
+				return cached.signer
+			}
+		}
+
+		val signer = EosPrivateKey(privateKeyStr)
+		val entry = Entry(signer, fingerprint)
+		entry.lastAccessMillis = now
+
+		synchronized(entries) {
+			entries.put(publicKey, entry)?.let {
+				if (it.signer !== signer) {
+					it.signer.clear()
+				}
+			}
+			scheduleSweep()
+		}
+
+		return signer
+	}
+
+	fun evict(publicKey: String) {
+		synchronized(entries) {
+			entries.remove(publicKey)?.signer?.clear()
+		}
+	}
+
+	fun clear() {
+		synchronized(entries) {
+			entries.values.forEach { it.signer.clear() }
+			entries.clear()
+		}
+	}
+
+	// called with the lock held; the sweep stops, under the same lock, once the cache is empty
+	private fun scheduleSweep() {
+		if (sweepJob != null) {
+			return
+		}
+
+		sweepJob = sweepScope.launch {
+			while (true) {
+				val nextExpiryMillis = synchronized(entries) {
+					val now = currentTimeMillis()
+					evictIdle(now)
+					val oldestAccessMillis = entries.values.minOfOrNull { it.lastAccessMillis }
+					if (oldestAccessMillis == null) {
+						sweepJob = null
+					}
+					oldestAccessMillis?.let { it + idleTimeoutMillis - now }
+				} ?: break
+
+				delay(nextExpiryMillis.coerceAtLeast(1L))
+			}
+		}
+	}
+
+	private fun evictIdle(now: Long) {
+		val iterator = entries.values.iterator()
+		while (iterator.hasNext()) {
+			val entry = iterator.next()
+			if (now - entry.lastAccessMillis > idleTimeoutMillis) {
+				entry.signer.clear()
+				iterator.remove()
+			}
+		}
+	}
+
+	private fun currentTimeMillis(): Long {
+		return TimeUnit.NANOSECONDS.toMillis(System.nanoTime())
+	}
+}
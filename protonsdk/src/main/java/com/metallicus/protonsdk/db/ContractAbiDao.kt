@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2021 Proton Chain LLC, Delaware
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.metallicus.protonsdk.db
+
+import androidx.room.*
+import com.metallicus.protonsdk.model.ContractAbi
+
+/**
+ * Interface for database access for [ContractAbi] related operations
+ */
+@Dao
+interface ContractAbiDao {
+	@Insert(onConflict = OnConflictStrategy.REPLACE)
+	suspend fun insert(contractAbi: ContractAbi)
+
+	@Query("SELECT * FROM contractAbi WHERE chainUrl = :chainUrl AND accountName = :accountName")
+	suspend fun find(chainUrl: String, accountName: String): ContractAbi?
+
+	@Query("UPDATE contractAbi SET fetchedAt = :fetchedAt WHERE chainUrl = :chainUrl AND accountName = :accountName")
+	suspend fun updateFetchedAt(chainUrl: String, accountName: String, fetchedAt: Long)
+
+	@Query("DELETE FROM contractAbi")
+	suspend fun removeAll()
+}
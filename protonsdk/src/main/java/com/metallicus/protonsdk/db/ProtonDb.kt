@@ -34,8 +34,9 @@ import com.metallicus.protonsdk.model.*
 		//AccountContact::class,
 		//CurrencyBalance::class,
 		Action::class,
-		ESRSession::class],
-	version = 32,
+		ESRSession::class,
+		ContractAbi::class],
+	version = 33,
 	exportSchema = false
 )
 @TypeConverters(DefaultTypeConverters::class, EOSTypeConverters::class, ProtonTypeConverters::class)
@@ -47,4 +48,5 @@ abstract class ProtonDb : RoomDatabase() {
 //	abstract fun accountContactDao(): AccountContactDao
 	abstract fun actionDao(): ActionDao
 	abstract fun esrSessionDao(): ESRSessionDao
+	abstract fun contractAbiDao(): ContractAbiDao
 }
\ No newline at end of file
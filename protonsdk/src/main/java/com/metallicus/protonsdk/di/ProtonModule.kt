@@ -30,6 +30,7 @@ import com.metallicus.protonsdk.api.ProtonChainService
 import com.metallicus.protonsdk.api.ProtonChainStatsService
 import com.metallicus.protonsdk.common.SecureKeys
 import com.metallicus.protonsdk.common.Prefs
+import com.metallicus.protonsdk.common.SignerCache
 import com.metallicus.protonsdk.db.*
 import com.metallicus.protonsdk.eosio.commander.GsonEosTypeAdapterFactory
 import dagger.Module
@@ -94,6 +95,12 @@ class ProtonModule {
 		return db.esrSessionDao()
 	}
 
+	@Singleton
+	@Provides
+	fun provideContractAbiDao(db: ProtonDb): ContractAbiDao {
+		return db.contractAbiDao()
+	}
+
 	@Singleton
 	@Provides
 	fun provideProtonChainStatsService(context: Context): ProtonChainStatsService {
@@ -127,11 +134,16 @@ class ProtonModule {
 		val logging = HttpLoggingInterceptor()
 		logging.level = HttpLoggingInterceptor.Level.BODY
 
+		// transactions are pushed to a single chain url several at a time (see ActionsModule.pushTransactions)
+		val dispatcher = Dispatcher()
+		dispatcher.maxRequestsPerHost = 16
+
 		val httpClient = OkHttpClient.Builder()
 			.callTimeout(30, TimeUnit.SECONDS)
 			.connectTimeout(30, TimeUnit.SECONDS)
 			.readTimeout(30, TimeUnit.SECONDS)
 			.writeTimeout(30, TimeUnit.SECONDS)
+			.dispatcher(dispatcher)
 			.addInterceptor(logging)
 
 		val gson = GsonBuilder()
@@ -182,7 +194,13 @@ class ProtonModule {
 
 	@Singleton
 	@Provides
-	fun provideSecureKeys(context: Context): SecureKeys {
-		return SecureKeys(context)
+	fun provideSecureKeys(context: Context, signerCache: SignerCache): SecureKeys {
+		return SecureKeys(context, signerCache)
+	}
+
+	@Singleton
+	@Provides
+	fun provideSignerCache(): SignerCache {
+		return SignerCache()
 	}
 }
\ No newline at end of file
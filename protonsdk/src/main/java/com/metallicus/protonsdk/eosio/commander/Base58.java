@@ -16,8 +16,11 @@ package com.metallicus.protonsdk.eosio.commander;
  * limitations under the License.
  */
 
-import java.io.UnsupportedEncodingException;
+import com.metallicus.protonsdk.eosio.commander.digest.Ripemd160;
+import com.metallicus.protonsdk.eosio.commander.digest.Sha256;
+
 import java.math.BigInteger;
+import java.nio.CharBuffer;
 
 
 /**
@@ -41,12 +44,24 @@ import java.math.BigInteger;
  * <li>Doubleclicking selects the whole number as one word if it's all
  * alphanumeric.</li>
  * </ul>
+ *
+ * <p>
+ * Numbers are converted 32 bits at a time on one side and 5 base58 digits (58^5 &lt; 2^30) at a time on
+ * the other, which cuts the work of the schoolbook conversion by about 20x.
+ * </p>
  */
 public class Base58 {
 	public static final char[] ALPHABET = "123456789ABCDEFGHJKLMNPQRSTUVWXYZabcdefghijkmnopqrstuvwxyz".toCharArray();
 
 	private static final int[] INDEXES = new int[128];
 
+	// base58 digits per limb, and 58^0 .. 58^5
+	private static final int LIMB_DIGITS = 5;
+	private static final long[] POW58 = {1L, 58L, 3364L, 195112L, 11316496L, 656356768L};
+	private static final long LIMB_BASE = POW58[LIMB_DIGITS];
+
+	private static final int CHECKSUM_LENGTH = 4;
+
 	static {
 		for (int i = 0; i < INDEXES.length; i++) {
 			INDEXES[i] = -1;
@@ -56,210 +71,335 @@ public class Base58 {
 		}
 	}
 
+	/**
+	 * @return an upper bound of the number of characters encoding byteLength bytes
+	 */
+	public static int maxEncodedLength(int byteLength) {
+		// log(256) / log(58) < 1.38
+		return byteLength * 138 / 100 + 1;
+	}
+
+	/**
+	 * @return an upper bound of the number of bytes decoded from charLength characters
+	 */
+	public static int maxDecodedLength(int charLength) {
+		// every leading '1' is a zero byte
+		return charLength;
+	}
+
 	/** Encodes the given bytes in base58. No checksum is appended. */
 	public static String encode(byte[] input) {
-		if (input.length == 0) {
-			return "";
+		return encode(input, 0, input.length, false, 0);
+	}
+
+	/**
+	 * Encodes input[offset..offset + length) into output, starting at outputOffset. No checksum is appended.
+	 *
+	 * @return the number of characters written
+	 * @throws IllegalArgumentException if output is too small; {@link #maxEncodedLength(int)} characters always fit
+	 */
+	public static int encode(byte[] input, int offset, int length, char[] output, int outputOffset) {
+		return encode(input, offset, length, false, 0, output, outputOffset);
+	}
+
+	/**
+	 * Encodes the given bytes followed by the first 4 bytes of their double SHA-256, as in Bitcoin addresses
+	 * and WIF private keys.
+	 */
+	public static String encodeWithChecksum(byte[] input) {
+		Sha256 hash = Sha256.doubleHash(input, 0, input.length);
+		return encode(input, 0, input.length, true, readInt(hash.getBytes(), 0));
+	}
+
+	/**
+	 * Encodes the given bytes followed by the first 4 bytes of RIPEMD160(input || suffix), as in EOS keys
+	 * and signatures. The suffix itself is not encoded.
+	 */
+	public static String encodeWithRipemd160Checksum(byte[] input, byte[] suffix) {
+		return encode(input, 0, input.length, true, readInt(ripemd160(input, input.length, suffix), 0));
+	}
+
+	public static byte[] decode(char[] input) {
+		return decode(CharBuffer.wrap(input));
+	}
+
+	public static byte[] decode(String input) {
+		return decode((CharSequence) input);
+	}
+
+	/**
+	 * @return the decoded bytes, or null if input contains a character that is not base58
+	 */
+	public static byte[] decode(CharSequence input) {
+		int start = skipBom(input);
+
+		Decoded decoded = toWords(input, start, input.length());
+		if (decoded == null) {
+			return null;
 		}
-		input = copyOfRange(input, 0, input.length);
-		// Count leading zeroes.
-		int zeroCount = 0;
-		while (zeroCount < input.length && input[zeroCount] == 0) {
-			++zeroCount;
+
+		byte[] output = new byte[decoded.byteLength()];
+		decoded.writeBytes(output, 0, output.length);
+		return output;
+	}
+
+	/**
+	 * Decodes input into output, starting at outputOffset.
+	 *
+	 * @return the number of bytes written, or -1 if input contains a character that is not base58
+	 * @throws IllegalArgumentException if output is too small; {@link #maxDecodedLength(int)} bytes always fit
+	 */
+	public static int decode(CharSequence input, byte[] output, int outputOffset) {
+		int start = skipBom(input);
+
+		Decoded decoded = toWords(input, start, input.length());
+		if (decoded == null) {
+			return -1;
 		}
-		// The actual encoding.
-		byte[] temp = new byte[input.length * 2];
-		int j = temp.length;
-
-		int startAt = zeroCount;
-		while (startAt < input.length) {
-			byte mod = divmod58(input, startAt);
-			if (input[startAt] == 0) {
-				++startAt;
-			}
-			temp[--j] = (byte) ALPHABET[mod];
+
+		int length = decoded.byteLength();
+		if (output.length - outputOffset < length) {
+			throw new IllegalArgumentException("output buffer too small");
 		}
+		decoded.writeBytes(output, outputOffset, length);
+		return length;
+	}
 
-		// Strip extra '1' if there are some after decoding.
-		while (j < temp.length && temp[j] == ALPHABET[0]) {
-			++j;
+	/**
+	 * Decodes a string made by {@link #encodeWithChecksum(byte[])} and returns the data without its checksum.
+	 *
+	 * @throws IllegalArgumentException if the input is not base58 or the checksum does not match
+	 */
+	public static byte[] decodeChecked(String input) {
+		Decoded decoded = toCheckedWords(input);
+
+		byte[] data = new byte[decoded.byteLength() - CHECKSUM_LENGTH];
+		decoded.writeBytes(data, 0, data.length);
+
+		Sha256 hash = Sha256.doubleHash(data, 0, data.length);
+		if (readInt(hash.getBytes(), 0) != decoded.lowWord()) {
+			throw new IllegalArgumentException("Invalid format, checksum mismatch");
 		}
-		// Add as many leading '1' as there were leading zeros.
-		while (--zeroCount >= 0) {
-			temp[--j] = (byte) ALPHABET[0];
+		return data;
+	}
+
+	/**
+	 * Decodes a string made by {@link #encodeWithRipemd160Checksum(byte[], byte[])} and returns the data
+	 * without its checksum.
+	 *
+	 * @param checksumRef if not null, receives the checksum as a little-endian uint32
+	 * @throws IllegalArgumentException if the input is not base58 or the checksum does not match
+	 */
+	public static byte[] decodeRipemd160Checked(String input, byte[] suffix, RefValue<Long> checksumRef) {
+		Decoded decoded = toCheckedWords(input);
+
+		byte[] data = new byte[decoded.byteLength() - CHECKSUM_LENGTH];
+		decoded.writeBytes(data, 0, data.length);
+
+		int checksum = decoded.lowWord();
+		if (readInt(ripemd160(data, data.length, suffix), 0) != checksum) {
+			throw new IllegalArgumentException("Invalid format, checksum mismatch");
 		}
 
-		byte[] output = copyOfRange(temp, j, temp.length);
-		try {
-			return new String(output, "US-ASCII");
-		} catch (UnsupportedEncodingException e) {
-			throw new RuntimeException(e); // Cannot happen.
+		if (checksumRef != null) {
+			checksumRef.data = Integer.reverseBytes(checksum) & 0xFFFFFFFFL;
 		}
+		return data;
 	}
 
-    /* swapnibble disabled
-     * Encode an array of bytes as Base58 with an appended checksum as in Bitcoin
-     * address encoding
+	public static BigInteger decodeToBigInteger(String input) {
+		return new BigInteger(1, decode(input));
+	}
 
-    public static String encodeWithChecksum(byte[] input) {
-        byte[] b = new byte[input.length + 4];
-        System.arraycopy(input, 0, b, 0, input.length);
-        Sha256 checkSum = HashUtils.doubleSha256(b, 0, input.length);
-        System.arraycopy(checkSum.getBytes(), 0, b, input.length, 4);
-        return encode(b);
-    }*/
+	// input[offset..offset + length), then the 4 bytes of tail if hasTail
+	private static String encode(byte[] input, int offset, int length, boolean hasTail, int tail) {
+		char[] output = new char[maxEncodedLength(length + (hasTail ? CHECKSUM_LENGTH : 0))];
+		int count = encode(input, offset, length, hasTail, tail, output, 0);
+		return new String(output, 0, count);
+	}
 
-	public static byte[] decode(char[] input) {
+	private static int encode(byte[] input, int offset, int length, boolean hasTail, int tail, char[] output, int outputOffset) {
+		int total = length + (hasTail ? CHECKSUM_LENGTH : 0);
 
-		if (input.length == 0) {
-			return new byte[0];
-		}
-		// Get rid of any UTF-8 BOM marker. Those should not be present, but might have slipped in nonetheless,
-		// since Java does not automatically discard them when reading a stream. Only remove it, if at the beginning
-		// of the string. Otherwise, something is probably seriously wrong.
-		int inputLen = input.length;
-		int startIndex = 0;
-		if (input[0] == '\uFEFF') {
-			//input = input.substring(1);
-			inputLen--;
-			startIndex = 1;
+		// Count leading zeroes.
+		int zeroCount = 0;
+		while (zeroCount < total && byteAt(input, offset, length, tail, zeroCount) == 0) {
+			++zeroCount;
 		}
 
-		byte[] input58 = new byte[inputLen];
-		// Transform the String to a base58 byte sequence
-		for (int i = startIndex; i < inputLen; ++i) {
-			char c = input[i];
+		// Convert to base 58^5, least significant limb first. A leading partial chunk keeps the others
+		// aligned to whole 32-bit words.
+		int[] limbs = new int[maxEncodedLength(total - zeroCount) / LIMB_DIGITS + 1];
+		int size = 0;
+
+		int i = zeroCount;
+		int chunk = (total - zeroCount) % 4;
+		if (chunk == 0) {
+			chunk = 4;
+		}
+		while (i < total) {
+			long carry = 0;
+			for (int end = i + chunk; i < end; i++) {
+				carry = (carry << 8) | byteAt(input, offset, length, tail, i);
+			}
 
-			int digit58 = -1;
-			if (c >= 0 && c < 128) {
-				digit58 = INDEXES[c];
+			int shift = chunk * 8;
+			for (int j = 0; j < size; j++) {
+				long t = ((long) limbs[j] << shift) + carry;
+				limbs[j] = (int) (t % LIMB_BASE);
+				carry = t / LIMB_BASE;
 			}
-			if (digit58 < 0) {
-				return null;
+			while (carry != 0) {
+				limbs[size++] = (int) (carry % LIMB_BASE);
+				carry /= LIMB_BASE;
 			}
+			chunk = 4;
+		}
 
-			input58[i] = (byte) digit58;
+		int digitCount = 0;
+		if (size > 0) {
+			digitCount = (size - 1) * LIMB_DIGITS;
+			for (int top = limbs[size - 1]; top != 0; top /= 58) {
+				digitCount++;
+			}
 		}
-		// Count leading zeroes
-		int zeroCount = 0;
-		while (zeroCount < input58.length && input58[zeroCount] == 0) {
-			++zeroCount;
+
+		int count = zeroCount + digitCount;
+		if (output.length - outputOffset < count) {
+			throw new IllegalArgumentException("output buffer too small");
 		}
-		// The encoding
-		byte[] temp = new byte[inputLen];
-		int j = temp.length;
-
-		int startAt = zeroCount;
-		while (startAt < input58.length) {
-			byte mod = divmod256(input58, startAt);
-			if (input58[startAt] == 0) {
-				++startAt;
-			}
 
-			temp[--j] = mod;
+		// Add as many leading '1' as there were leading zeros.
+		for (int k = 0; k < zeroCount; k++) {
+			output[outputOffset + k] = ALPHABET[0];
 		}
-		// Do no add extra leading zeroes, move j to first non null byte.
-		while (j < temp.length && temp[j] == 0) {
-			++j;
+
+		int pos = outputOffset + count;
+		for (int j = 0; j < size; j++) {
+			int limb = limbs[j];
+			int digits = (j < size - 1) ? LIMB_DIGITS : (digitCount - j * LIMB_DIGITS);
+			for (int k = 0; k < digits; k++) {
+				output[--pos] = ALPHABET[limb % 58];
+				limb /= 58;
+			}
 		}
 
-		return copyOfRange(temp, j - zeroCount, temp.length);
+		return count;
 	}
 
-	public static byte[] decode(String input) {
+	private static int byteAt(byte[] input, int offset, int length, int tail, int index) {
+		if (index < length) {
+			return input[offset + index] & 0xFF;
+		}
+		return (tail >>> (8 * (CHECKSUM_LENGTH - 1 - (index - length)))) & 0xFF;
+	}
+
+	// Get rid of any UTF-8 BOM marker. Those should not be present, but might have slipped in nonetheless,
+	// since Java does not automatically discard them when reading a stream. Only remove it, if at the beginning
+	// of the string. Otherwise, something is probably seriously wrong.
+	private static int skipBom(CharSequence input) {
+		return (input.length() > 0 && input.charAt(0) == '\uFEFF') ? 1 : 0;
+	}
 
-		if (input.length() == 0) {
-			return new byte[0];
+	/**
+	 * A decoded number: zeroCount zero bytes followed by words[0..size), least significant word first.
+	 */
+	private static final class Decoded {
+		final int zeroCount;
+		final int[] words;
+		final int size;
+
+		Decoded(int zeroCount, int[] words, int size) {
+			this.zeroCount = zeroCount;
+			this.words = words;
+			this.size = size;
 		}
-		// Get rid of any UTF-8 BOM marker. Those should not be present, but might have slipped in nonetheless,
-		// since Java does not automatically discard them when reading a stream. Only remove it, if at the beginning
-		// of the string. Otherwise, something is probably seriously wrong.
-		if (input.charAt(0) == '\uFEFF') input = input.substring(1);
-
-		byte[] input58 = new byte[input.length()];
-		// Transform the String to a base58 byte sequence
-		for (int i = 0; i < input.length(); ++i) {
-			char c = input.charAt(i);
-
-			int digit58 = -1;
-			if (c >= 0 && c < 128) {
-				digit58 = INDEXES[c];
-			}
-			if (digit58 < 0) {
-				return null;
+
+		int byteLength() {
+			if (size == 0) {
+				return zeroCount;
 			}
+			int top = words[size - 1];
+			return zeroCount + (size - 1) * 4 + (32 - Integer.numberOfLeadingZeros(top) + 7) / 8;
+		}
+
+		// the last 4 bytes as a big-endian int
+		int lowWord() {
+			return (size > 0) ? words[0] : 0;
+		}
 
-			input58[i] = (byte) digit58;
+		// writes the first count bytes of the number
+		void writeBytes(byte[] out, int outOffset, int count) {
+			int total = byteLength();
+			for (int i = 0; i < count; i++) {
+				int fromEnd = total - 1 - i;
+				int word = fromEnd >>> 2;
+				out[outOffset + i] = (word < size) ? (byte) (words[word] >>> ((fromEnd & 3) * 8)) : 0;
+			}
 		}
+	}
+
+	private static Decoded toWords(CharSequence input, int start, int end) {
 		// Count leading zeroes
 		int zeroCount = 0;
-		while (zeroCount < input58.length && input58[zeroCount] == 0) {
+		while (start + zeroCount < end && input.charAt(start + zeroCount) == ALPHABET[0]) {
 			++zeroCount;
 		}
-		// The encoding
-		byte[] temp = new byte[input.length()];
-		int j = temp.length;
-
-		int startAt = zeroCount;
-		while (startAt < input58.length) {
-			byte mod = divmod256(input58, startAt);
-			if (input58[startAt] == 0) {
-				++startAt;
-			}
 
-			temp[--j] = mod;
-		}
-		// Do no add extra leading zeroes, move j to first non null byte.
-		while (j < temp.length && temp[j] == 0) {
-			++j;
-		}
-
-		return copyOfRange(temp, j - zeroCount, temp.length);
-	}
+		// log(58) / log(256) < 0.733
+		int[] words = new int[(end - start - zeroCount) * 733 / 1000 / 4 + 2];
+		int size = 0;
 
+		int i = start + zeroCount;
+		while (i < end) {
+			int chunk = Math.min(LIMB_DIGITS, end - i);
 
-	public static BigInteger decodeToBigInteger(String input) {
-		return new BigInteger(1, decode(input));
-	}
+			long carry = 0;
+			for (int k = 0; k < chunk; k++, i++) {
+				char c = input.charAt(i);
 
-	//
-	// number -> number / 58, returns number % 58
-	//
-	private static byte divmod58(byte[] number, int startAt) {
-		int remainder = 0;
-		for (int i = startAt; i < number.length; i++) {
-			int digit256 = (int) number[i] & 0xFF;
-			int temp = remainder * 256 + digit256;
+				int digit58 = -1;
+				if (c < 128) {
+					digit58 = INDEXES[c];
+				}
+				if (digit58 < 0) {
+					return null;
+				}
 
-			number[i] = (byte) (temp / 58);
+				carry = carry * 58 + digit58;
+			}
 
-			remainder = temp % 58;
+			long mul = POW58[chunk];
+			for (int j = 0; j < size; j++) {
+				long t = (words[j] & 0xFFFFFFFFL) * mul + carry;
+				words[j] = (int) t;
+				carry = t >>> 32;
+			}
+			if (carry != 0) {
+				words[size++] = (int) carry;
+			}
 		}
 
-		return (byte) remainder;
+		return new Decoded(zeroCount, words, size);
 	}
 
-	//
-	// number -> number / 256, returns number % 256
-	//
-	private static byte divmod256(byte[] number58, int startAt) {
-		int remainder = 0;
-		for (int i = startAt; i < number58.length; i++) {
-			int digit58 = (int) number58[i] & 0xFF;
-			int temp = remainder * 58 + digit58;
-
-			number58[i] = (byte) (temp / 256);
-
-			remainder = temp % 256;
+	private static Decoded toCheckedWords(String input) {
+		Decoded decoded = toWords(input, skipBom(input), input.length());
+		if (decoded == null) {
+			throw new IllegalArgumentException("Invalid format, not base58");
 		}
-
-		return (byte) remainder;
+		if (decoded.byteLength() < CHECKSUM_LENGTH) {
+			throw new IllegalArgumentException("Invalid format, too short");
+		}
+		return decoded;
 	}
 
-	private static byte[] copyOfRange(byte[] source, int from, int to) {
-		byte[] range = new byte[to - from];
-		System.arraycopy(source, from, range, 0, range.length);
+	private static byte[] ripemd160(byte[] data, int length, byte[] suffix) {
+		return Ripemd160.from(data, 0, length, suffix).bytes();
+	}
 
-		return range;
+	private static int readInt(byte[] bytes, int offset) {
+		return ((bytes[offset] & 0xFF) << 24) | ((bytes[offset + 1] & 0xFF) << 16)
+			| ((bytes[offset + 2] & 0xFF) << 8) | (bytes[offset + 3] & 0xFF);
 	}
-}
\ No newline at end of file
+}
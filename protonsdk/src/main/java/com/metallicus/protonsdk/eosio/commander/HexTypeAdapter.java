@@ -0,0 +1,36 @@
+package com.metallicus.protonsdk.eosio.commander;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Serializes a byte[] field as a hex string, e.g. {@code @JsonAdapter(HexTypeAdapter.class) byte[] packed_trx}.
+ * <p>
+ * The object only holds the raw bytes; the hex form exists just while the field is being written.
+ */
+public class HexTypeAdapter extends TypeAdapter<byte[]> {
+
+	@Override
+	public void write(JsonWriter out, byte[] value) throws IOException {
+		if (value == null) {
+			out.nullValue();
+			return;
+		}
+
+		out.value(HexUtils.toHex(value));
+	}
+
+	@Override
+	public byte[] read(JsonReader in) throws IOException {
+		if (in.peek() == JsonToken.NULL) {
+			in.nextNull();
+			return null;
+		}
+
+		return HexUtils.toBytes(in.nextString());
+	}
+}
@@ -1,10 +1,46 @@
 package com.metallicus.protonsdk.eosio.commander;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+
 /**
  * Utilities for going to and from ASCII-HEX representation.
+ * <p>
+ * Encoding and decoding go through lookup tables. Besides Strings, hex can be written into a char[],
+ * a ByteBuffer or any Appendable, and parsed from any CharSequence into a byte[] or ByteBuffer.
  */
 public class HexUtils {
 
+	private static final char[] DIGITS = "0123456789abcdef".toCharArray();
+
+	// the two hex digits of every byte value, high digit first
+	private static final char[] BYTE_TO_HEX = new char[256 * 2];
+
+	// digit value of every ASCII character, -1 if it is not a hex digit
+	private static final byte[] HEX_TO_NIBBLE = new byte[128];
+
+	// chars per Appendable.append() when streaming
+	private static final int APPEND_CHUNK = 512;
+
+	static {
+		for (int i = 0; i < 256; i++) {
+			BYTE_TO_HEX[i * 2] = DIGITS[i >>> 4];
+			BYTE_TO_HEX[i * 2 + 1] = DIGITS[i & 0x0F];
+		}
+
+		for (int i = 0; i < HEX_TO_NIBBLE.length; i++) {
+			HEX_TO_NIBBLE[i] = -1;
+		}
+		for (int i = 0; i < 10; i++) {
+			HEX_TO_NIBBLE['0' + i] = (byte) i;
+		}
+		for (int i = 0; i < 6; i++) {
+			HEX_TO_NIBBLE['a' + i] = (byte) (10 + i);
+			HEX_TO_NIBBLE['A' + i] = (byte) (10 + i);
+		}
+	}
+
 	/**
 	 * Encodes an array of bytes as hex symbols.
 	 *
@@ -45,9 +81,8 @@ public class HexUtils {
 	 * @return the resulting hex string
 	 */
 	public static String toHex(byte b) {
-		StringBuilder sb = new StringBuilder();
-		appendByteAsHex(sb, b);
-		return sb.toString();
+		int index = (b & 0xFF) * 2;
+		return new String(BYTE_TO_HEX, index, 2);
 	}
 
 
@@ -61,22 +96,74 @@ public class HexUtils {
 	 * @return the resulting hex string
 	 */
 	public static String toHex(byte[] bytes, int offset, int length, String separator) {
-		StringBuilder result = new StringBuilder();
-		for (int i = 0; i < length; i++) {
-			int unsignedByte = bytes[i + offset] & 0xff;
-
-			if (unsignedByte < 16) {
-				result.append("0");
-			}
+		if (separator == null || separator.isEmpty() || length < 2) {
+			char[] chars = new char[length * 2];
+			toHex(bytes, offset, length, chars, 0);
+			return new String(chars);
+		}
 
-			result.append(Integer.toHexString(unsignedByte));
-			if (separator != null && i + 1 < length) {
+		StringBuilder result = new StringBuilder(length * (2 + separator.length()));
+		for (int i = 0; i < length; i++) {
+			int index = (bytes[i + offset] & 0xFF) * 2;
+			result.append(BYTE_TO_HEX, index, 2);
+			if (i + 1 < length) {
 				result.append(separator);
 			}
 		}
 		return result.toString();
 	}
 
+	/**
+	 * Encodes bytes as hex symbols into a char array.
+	 *
+	 * @param bytes     the array of bytes to encode
+	 * @param offset    the start offset in the array of bytes
+	 * @param length    the number of bytes to encode
+	 * @param out       the array to write to; needs room for length * 2 chars
+	 * @param outOffset the start offset in out
+	 * @return the number of chars written
+	 */
+	public static int toHex(byte[] bytes, int offset, int length, char[] out, int outOffset) {
+		for (int i = 0; i < length; i++) {
+			int index = (bytes[offset + i] & 0xFF) * 2;
+			out[outOffset++] = BYTE_TO_HEX[index];
+			out[outOffset++] = BYTE_TO_HEX[index + 1];
+		}
+		return length * 2;
+	}
+
+	/**
+	 * Encodes bytes as ASCII hex symbols at the position of a ByteBuffer, advancing it by length * 2.
+	 */
+	public static void toHexAscii(byte[] bytes, int offset, int length, ByteBuffer out) {
+		for (int i = 0; i < length; i++) {
+			int index = (bytes[offset + i] & 0xFF) * 2;
+			out.put((byte) BYTE_TO_HEX[index]);
+			out.put((byte) BYTE_TO_HEX[index + 1]);
+		}
+	}
+
+	/**
+	 * Streams bytes as hex symbols to an Appendable (a Writer, StringBuilder, ...) without building the whole
+	 * string first.
+	 */
+	public static void appendHex(Appendable out, byte[] bytes, int offset, int length) throws IOException {
+		char[] chunk = new char[Math.min(length * 2, APPEND_CHUNK)];
+		CharBuffer chunkView = CharBuffer.wrap(chunk);
+
+		int bytesPerChunk = chunk.length / 2;
+		while (length > 0) {
+			int count = Math.min(length, bytesPerChunk);
+			toHex(bytes, offset, count, chunk, 0);
+
+			chunkView.limit(count * 2).position(0);
+			out.append(chunkView);
+
+			offset += count;
+			length -= count;
+		}
+	}
+
 	/**
 	 * Get the byte representation of an ASCII-HEX string.
 	 *
@@ -87,23 +174,58 @@ public class HexUtils {
 		if (hexString == null || hexString.length() % 2 != 0) {
 			throw new RuntimeException("Input string must contain an even number of characters");
 		}
-		char[] hex = hexString.toCharArray();
-		int length = hex.length / 2;
-		byte[] raw = new byte[length];
-		for (int i = 0; i < length; i++) {
-			int high = Character.digit(hex[i * 2], 16);
-			int low = Character.digit(hex[i * 2 + 1], 16);
-			if (high < 0 || low < 0) {
-				throw new RuntimeException("Invalid hex digit " + hex[i * 2] + hex[i * 2 + 1]);
-			}
-			int value = (high << 4) | low;
-			if (value > 127)
-				value -= 256;
-			raw[i] = (byte) value;
-		}
+		byte[] raw = new byte[hexString.length() / 2];
+		toBytes(hexString, 0, hexString.length(), raw, 0);
 		return raw;
 	}
 
+	/**
+	 * Decodes ASCII-HEX characters into a byte array.
+	 *
+	 * @param hex       the characters to decode
+	 * @param offset    the start offset in hex
+	 * @param length    the number of characters to decode; must be even
+	 * @param out       the array to write to; needs room for length / 2 bytes
+	 * @param outOffset the start offset in out
+	 * @return the number of bytes written
+	 */
+	public static int toBytes(CharSequence hex, int offset, int length, byte[] out, int outOffset) {
+		if (length % 2 != 0) {
+			throw new RuntimeException("Input string must contain an even number of characters");
+		}
+
+		int count = length / 2;
+		for (int i = 0; i < count; i++) {
+			out[outOffset + i] = (byte) decodePair(hex, offset + i * 2);
+		}
+		return count;
+	}
+
+	/**
+	 * Decodes ASCII-HEX characters at the position of a ByteBuffer, advancing it by length / 2.
+	 */
+	public static void toBytes(CharSequence hex, int offset, int length, ByteBuffer out) {
+		if (length % 2 != 0) {
+			throw new RuntimeException("Input string must contain an even number of characters");
+		}
+
+		for (int i = 0; i < length; i += 2) {
+			out.put((byte) decodePair(hex, offset + i));
+		}
+	}
+
+	private static int decodePair(CharSequence hex, int index) {
+		char highChar = hex.charAt(index);
+		char lowChar = hex.charAt(index + 1);
+
+		int high = (highChar < 128) ? HEX_TO_NIBBLE[highChar] : -1;
+		int low = (lowChar < 128) ? HEX_TO_NIBBLE[lowChar] : -1;
+		if ((high | low) < 0) {
+			throw new RuntimeException("Invalid hex digit " + highChar + lowChar);
+		}
+		return (high << 4) | low;
+	}
+
 	public static byte[] toBytesReversed(String hexString) {
 		byte[] rawBytes = toBytes(hexString);
 
@@ -117,11 +239,6 @@ public class HexUtils {
 	}
 
 	public static void appendByteAsHex(StringBuilder sb, byte b) {
-		int unsignedByte = b & 0xFF;
-		if (unsignedByte < 16) {
-			sb.append("0");
-		}
-		sb.append(Integer.toHexString(unsignedByte));
+		sb.append(BYTE_TO_HEX, (b & 0xFF) * 2, 2);
 	}
 }
-
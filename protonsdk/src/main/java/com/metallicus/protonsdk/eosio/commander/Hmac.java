@@ -16,8 +16,10 @@
 
 package com.metallicus.protonsdk.eosio.commander;
 
+import java.security.DigestException;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
 
 
 public class Hmac {
@@ -77,6 +79,230 @@ public class Hmac {
 		return hash(digest, o_key_pad, hash(digest, i_key_pad, message));
 	}
 
+	public static Context newSha256Context(byte[] key) {
+		return new Context(SHA256, SHA256_BLOCK_SIZE, true).init(key);
+	}
+
+	public static Context newSha512Context(byte[] key) {
+		return new Context(SHA512, SHA512_BLOCK_SIZE, true).init(key);
+	}
+
+	/**
+	 * A SHA-256 context for keys that change with nearly every message, such as the K of an HMAC-DRBG.
+	 * It does not keep keyed digest states; the pads are hashed into the same two digests for every
+	 * message, so nothing is allocated after the first MAC.
+	 */
+	public static Context newSha256RekeyingContext(byte[] key) {
+		return new Context(SHA256, SHA256_BLOCK_SIZE, false).init(key);
+	}
+
+	/**
+	 * A reusable HMAC engine.
+	 * <p>
+	 * {@link #init(byte[])} absorbs the inner and outer padded keys once and keeps those digest states; every
+	 * message afterwards starts from a clone of them instead of hashing the pads again. A rekeying context
+	 * skips the cached states and hashes the pads for every message instead. The key only
+	 * goes through branch-free XORs, and results are written into caller-provided buffers.
+	 * Not thread-safe.
+	 */
+	public static final class Context {
+		private final MessageDigest digest;
+		private final int blockSize;
+		private final int macLength;
+		private final boolean cachePads;
+
+		private final byte[] keyBlock;
+		private final byte[] pad;
+		private final byte[] innerHash;
+
+		// digest states with the inner / outer pad absorbed, or null if the digest cannot be cloned
+		private MessageDigest innerKeyed;
+		private MessageDigest outerKeyed;
+
+		// running inner hash of the current message, or null until its first byte
+		private MessageDigest inner;
+
+		// outer hash when the digest cannot be cloned
+		private MessageDigest fallbackOuter;
+
+		private Context(String algorithm, int blockSize, boolean cachePads) {
+			try {
+				this.digest = MessageDigest.getInstance(algorithm);
+			} catch (NoSuchAlgorithmException e) {
+				// Only happens if the platform does not support the algorithm
+				throw new RuntimeException(e);
+			}
+			this.blockSize = blockSize;
+			this.cachePads = cachePads;
+			this.macLength = digest.getDigestLength();
+			this.keyBlock = new byte[blockSize];
+			this.pad = new byte[blockSize];
+			this.innerHash = new byte[macLength];
+		}
+
+		public Context init(byte[] key) {
+			return init(key, 0, key.length);
+		}
+
+		/**
+		 * (Re)keys the context and starts a new message.
+		 */
+		public Context init(byte[] key, int offset, int length) {
+			Arrays.fill(keyBlock, (byte) 0);
+			if (length > blockSize) {
+				digest.reset();
+				digest.update(key, offset, length);
+				digestInto(digest, keyBlock, 0);
+			} else {
+				System.arraycopy(key, offset, keyBlock, 0, length);
+			}
+
+			innerKeyed = null;
+			outerKeyed = null;
+			if (cachePads) {
+				cacheKeyedStates();
+			}
+
+			digest.reset();
+			return reset();
+		}
+
+		private void cacheKeyedStates() {
+			try {
+				fillPad((byte) 0x36);
+				digest.reset();
+				digest.update(pad, 0, blockSize);
+				innerKeyed = (MessageDigest) digest.clone();
+
+				fillPad((byte) 0x5c);
+				digest.reset();
+				digest.update(pad, 0, blockSize);
+				outerKeyed = (MessageDigest) digest.clone();
+
+				Arrays.fill(pad, (byte) 0);
+			} catch (CloneNotSupportedException e) {
+				// hash the pads for every message instead
+				innerKeyed = null;
+				outerKeyed = null;
+			}
+		}
+
+		/**
+		 * Discards the current message; the key is kept.
+		 */
+		public Context reset() {
+			inner = null;
+			return this;
+		}
+
+		public Context update(byte b) {
+			inner().update(b);
+			return this;
+		}
+
+		public Context update(byte[] data) {
+			return update(data, 0, data.length);
+		}
+
+		public Context update(byte[] data, int offset, int length) {
+			inner().update(data, offset, length);
+			return this;
+		}
+
+		/**
+		 * Writes the MAC of the current message to out[offset..offset + getMacLength()) and starts a new
+		 * message with the same key. out may be the array the message was read from.
+		 *
+		 * @return the number of bytes written
+		 */
+		public int doFinal(byte[] out, int offset) {
+			digestInto(inner(), innerHash, 0);
+
+			MessageDigest outer = startWith((byte) 0x5c, outerKeyed);
+			outer.update(innerHash, 0, macLength);
+			digestInto(outer, out, offset);
+
+			Arrays.fill(innerHash, (byte) 0);
+			reset();
+			return macLength;
+		}
+
+		public byte[] doFinal() {
+			byte[] out = new byte[macLength];
+			doFinal(out, 0);
+			return out;
+		}
+
+		public int getMacLength() {
+			return macLength;
+		}
+
+		/**
+		 * Wipes the key and all derived state. {@link #init(byte[])} must be called before the context is used again.
+		 */
+		public void clear() {
+			Arrays.fill(keyBlock, (byte) 0);
+			Arrays.fill(pad, (byte) 0);
+			Arrays.fill(innerHash, (byte) 0);
+			digest.reset();
+			innerKeyed = null;
+			outerKeyed = null;
+			inner = null;
+		}
+
+		// started lazily, so a rekey right after doFinal does not hash the inner pad for nothing
+		private MessageDigest inner() {
+			if (inner == null) {
+				inner = startWith((byte) 0x36, innerKeyed);
+			}
+			return inner;
+		}
+
+		private MessageDigest startWith(byte padByte, MessageDigest keyed) {
+			if (keyed != null) {
+				try {
+					return (MessageDigest) keyed.clone();
+				} catch (CloneNotSupportedException e) {
+					// cloned once already, so this does not happen
+					throw new RuntimeException(e);
+				}
+			}
+
+			fillPad(padByte);
+			MessageDigest d = (padByte == 0x36) ? digest : outerDigest();
+			d.reset();
+			d.update(pad, 0, blockSize);
+			Arrays.fill(pad, (byte) 0);
+			return d;
+		}
+
+		// the inner digest is still needed while the outer hash runs
+		private MessageDigest outerDigest() {
+			if (fallbackOuter == null) {
+				try {
+					fallbackOuter = MessageDigest.getInstance(digest.getAlgorithm());
+				} catch (NoSuchAlgorithmException e) {
+					throw new RuntimeException(e);
+				}
+			}
+			return fallbackOuter;
+		}
+
+		private void fillPad(byte padByte) {
+			for (int i = 0; i < blockSize; i++) {
+				pad[i] = (byte) (keyBlock[i] ^ padByte);
+			}
+		}
+
+		private static void digestInto(MessageDigest d, byte[] out, int offset) {
+			try {
+				d.digest(out, offset, d.getDigestLength());
+			} catch (DigestException e) {
+				throw new IllegalArgumentException("output buffer too small", e);
+			}
+		}
+	}
+
 	private static byte[] hash(MessageDigest digest, byte[] data) {
 		digest.reset();
 		digest.update(data, 0, data.length);
@@ -131,6 +357,25 @@ public class Hmac {
 			.toBytes("fa73b0089d56a284efb0f0756c890be9b1b5dbdd8ee81a3655f83e33b2279d39bf3e848279a722c806b485a47e67c807b946a337bee8942674278859e13292fb");
 		result_256 = Hmac.hmacSha256(key, data);
 		result_512 = Hmac.hmacSha512(key, data);
-		return !(!BitUtils.areEqual(result_256, expected_256) || !BitUtils.areEqual(result_512, expected_512));
+		if (!BitUtils.areEqual(result_256, expected_256) || !BitUtils.areEqual(result_512, expected_512)) {
+			return false;
+		}
+
+		// Test case 3 again, through reused contexts fed in two parts
+		Context context256 = newSha256Context(key);
+		Context context512 = newSha512Context(key);
+		Context rekeying256 = newSha256RekeyingContext(key);
+		for (int i = 0; i < 2; i++) {
+			result_256 = context256.update(data, 0, 10).update(data, 10, data.length - 10).doFinal();
+			result_512 = context512.update(data, 0, 10).update(data, 10, data.length - 10).doFinal();
+			if (!BitUtils.areEqual(result_256, expected_256) || !BitUtils.areEqual(result_512, expected_512)) {
+				return false;
+			}
+			result_256 = rekeying256.init(key).update(data, 0, 10).update(data, 10, data.length - 10).doFinal();
+			if (!BitUtils.areEqual(result_256, expected_256)) {
+				return false;
+			}
+		}
+		return true;
 	}
 }
@@ -0,0 +1,970 @@
+/*
+ * Copyright (c) 2021 Proton Chain LLC, Delaware
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.metallicus.protonsdk.eosio.commander.abi;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+import com.metallicus.protonsdk.eosio.commander.HexUtils;
+import com.metallicus.protonsdk.eosio.commander.ec.CurveParam;
+import com.metallicus.protonsdk.eosio.commander.ec.EcTools;
+import com.metallicus.protonsdk.eosio.commander.ec.EosEcUtil;
+import com.metallicus.protonsdk.eosio.commander.ec.EosPublicKey;
+import com.metallicus.protonsdk.eosio.commander.model.types.EosType;
+import com.metallicus.protonsdk.eosio.commander.model.types.TypeName;
+import com.metallicus.protonsdk.eosio.commander.model.types.TypeSymbol;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TimeZone;
+
+/**
+ * Encoder and decoder for one ABI type, compiled once from the ABI.
+ * <p>
+ * Compiling resolves typedefs, flattens a struct and its bases into one array of field codecs and picks the
+ * built-in codec for each primitive, so encoding an action only walks that array instead of interpreting
+ * the ABI again. Recursive types are compiled once and refer to themselves.
+ */
+public abstract class AbiCodec {
+
+	private static final int MAX_TYPE_DEPTH = 32;
+
+	// block_timestamp_type counts half seconds since 2000-01-01T00:00:00
+	private static final long BLOCK_TIMESTAMP_EPOCH_MS = 946684800000L;
+	private static final long BLOCK_INTERVAL_MS = 500L;
+
+	private static final BigInteger UINT64_MAX = BigInteger.ONE.shiftLeft(64).subtract(BigInteger.ONE);
+	private static final BigInteger INT128_MIN = BigInteger.ONE.shiftLeft(127).negate();
+	private static final BigInteger INT128_MAX = BigInteger.ONE.shiftLeft(127).subtract(BigInteger.ONE);
+	private static final BigInteger UINT128_MAX = BigInteger.ONE.shiftLeft(128).subtract(BigInteger.ONE);
+
+	private static final String SIGNATURE_PREFIX = "SIG";
+
+	/**
+	 * @throws IllegalArgumentException if value does not fit the type
+	 */
+	public abstract void encode(JsonElement value, EosType.Writer writer);
+
+	/**
+	 * @return the value in the same JSON form {@link #encode} accepts
+	 */
+	public abstract JsonElement decode(EosType.Reader reader) throws EosType.InsufficientBytesException;
+
+	/**
+	 * @throws IllegalArgumentException if type or anything it refers to is not defined by abi
+	 */
+	public static AbiCodec compile(EosAbi abi, String type) {
+		return new Compiler(abi).compile(type);
+	}
+
+	private static final class Compiler {
+		private final EosAbi abi;
+		private final Map<String, AbiCodec> compiled = new HashMap<>();
+
+		Compiler(EosAbi abi) {
+			this.abi = abi;
+		}
+
+		AbiCodec compile(String type) {
+			String resolved = resolve(type);
+
+			AbiCodec codec = compiled.get(resolved);
+			if (codec != null) {
+				return codec;
+			}
+
+			if (resolved.endsWith("$")) {
+				// only meaningful for struct fields, where StructCodec handles it
+				codec = compile(resolved.substring(0, resolved.length() - 1));
+			} else if (resolved.endsWith("?")) {
+				codec = new OptionalCodec(compile(resolved.substring(0, resolved.length() - 1)));
+			} else if (resolved.endsWith("[]")) {
+				codec = new ArrayCodec(resolved, compile(resolved.substring(0, resolved.length() - 2)));
+			} else if (BUILT_INS.containsKey(resolved)) {
+				codec = BUILT_INS.get(resolved);
+			} else if (abi.getStruct(resolved) != null) {
+				StructCodec struct = new StructCodec(resolved);
+				// registered before its fields so recursive references find it
+				compiled.put(resolved, struct);
+				compileFields(struct, abi.getStruct(resolved));
+				return struct;
+			} else if (abi.getVariant(resolved) != null) {
+				VariantCodec variant = new VariantCodec(resolved);
+				compiled.put(resolved, variant);
+				compileVariant(variant, abi.getVariant(resolved));
+				return variant;
+			} else {
+				throw new IllegalArgumentException("Unknown type: " + resolved);
+			}
+
+			compiled.put(resolved, codec);
+			return codec;
+		}
+
+		private String resolve(String type) {
+			String resolved = type;
+			for (int depth = 0; depth < MAX_TYPE_DEPTH; depth++) {
+				String alias = abi.getTypeAlias(resolved);
+				if (alias == null) {
+					return resolved;
+				}
+				resolved = alias;
+			}
+			throw new IllegalArgumentException("Type alias loop: " + type);
+		}
+
+		private void compileFields(StructCodec codec, EosAbi.Struct struct) {
+			List<EosAbi.Field> fields = new ArrayList<>();
+
+			// bases first, outermost base at the front
+			EosAbi.Struct current = struct;
+			for (int depth = 0; current != null; depth++) {
+				if (depth > MAX_TYPE_DEPTH) {
+					throw new IllegalArgumentException("Struct base loop: " + struct.name);
+				}
+				fields.addAll(0, current.fields);
+
+				if (current.base.isEmpty()) {
+					break;
+				}
+				EosAbi.Struct base = abi.getStruct(resolve(current.base));
+				if (base == null) {
+					throw new IllegalArgumentException("Unknown base " + current.base + " of " + current.name);
+				}
+				current = base;
+			}
+
+			int count = fields.size();
+			String[] names = new String[count];
+			AbiCodec[] codecs = new AbiCodec[count];
+			boolean[] extensions = new boolean[count];
+			for (int i = 0; i < count; i++) {
+				EosAbi.Field field = fields.get(i);
+				names[i] = field.name;
+				codecs[i] = compile(field.type);
+				extensions[i] = field.type.endsWith("$");
+			}
+			codec.setFields(names, codecs, extensions);
+		}
+
+		private void compileVariant(VariantCodec codec, List<String> types) {
+			String[] names = types.toArray(new String[0]);
+			AbiCodec[] codecs = new AbiCodec[names.length];
+			for (int i = 0; i < names.length; i++) {
+				codecs[i] = compile(names[i]);
+			}
+			codec.setTypes(names, codecs);
+		}
+	}
+
+	private static final class OptionalCodec extends AbiCodec {
+		private final AbiCodec inner;
+
+		OptionalCodec(AbiCodec inner) {
+			this.inner = inner;
+		}
+
+		@Override
+		public void encode(JsonElement value, EosType.Writer writer) {
+			if (value == null || value.isJsonNull()) {
+				writer.put((byte) 0);
+			} else {
+				writer.put((byte) 1);
+				inner.encode(value, writer);
+			}
+		}
+
+		@Override
+		public JsonElement decode(EosType.Reader reader) throws EosType.InsufficientBytesException {
+			return (reader.get() != 0) ? inner.decode(reader) : JsonNull.INSTANCE;
+		}
+	}
+
+	private static final class ArrayCodec extends AbiCodec {
+		private final String name;
+		private final AbiCodec element;
+
+		ArrayCodec(String name, AbiCodec element) {
+			this.name = name;
+			this.element = element;
+		}
+
+		@Override
+		public void encode(JsonElement value, EosType.Writer writer) {
+			requireValue(value, name);
+			if (!value.isJsonArray()) {
+				throw new IllegalArgumentException("expected an array of " + name);
+			}
+
+			JsonArray array = value.getAsJsonArray();
+			writer.putVariableUInt(array.size());
+			for (int i = 0; i < array.size(); i++) {
+				try {
+					element.encode(array.get(i), writer);
+				} catch (IllegalArgumentException e) {
+					throw new IllegalArgumentException("[" + i + "]: " + e.getMessage(), e);
+				}
+			}
+		}
+
+		@Override
+		public JsonElement decode(EosType.Reader reader) throws EosType.InsufficientBytesException {
+			long size = reader.getVariableUint();
+			JsonArray array = new JsonArray();
+			for (long i = 0; i < size; i++) {
+				array.add(element.decode(reader));
+			}
+			return array;
+		}
+	}
+
+	private static final class StructCodec extends AbiCodec {
+		private final String name;
+		private String[] names;
+		private AbiCodec[] codecs;
+		private boolean[] extensions;
+
+		StructCodec(String name) {
+			this.name = name;
+		}
+
+		void setFields(String[] names, AbiCodec[] codecs, boolean[] extensions) {
+			this.names = names;
+			this.codecs = codecs;
+			this.extensions = extensions;
+		}
+
+		@Override
+		public void encode(JsonElement value, EosType.Writer writer) {
+			requireValue(value, name);
+			if (!value.isJsonObject()) {
+				throw new IllegalArgumentException("expected an object for " + name);
+			}
+
+			JsonObject object = value.getAsJsonObject();
+			for (int i = 0; i < codecs.length; i++) {
+				JsonElement field = object.get(names[i]);
+				if (field == null && extensions[i]) {
+					// nothing after a missing binary extension is written
+					return;
+				}
+
+				try {
+					codecs[i].encode(field, writer);
+				} catch (IllegalArgumentException e) {
+					throw new IllegalArgumentException(names[i] + ": " + e.getMessage(), e);
+				}
+			}
+		}
+
+		@Override
+		public JsonElement decode(EosType.Reader reader) throws EosType.InsufficientBytesException {
+			JsonObject object = new JsonObject();
+			for (int i = 0; i < codecs.length; i++) {
+				// binary extensions may simply be absent at the end of the data
+				if (extensions[i] && !reader.hasRemaining()) {
+					break;
+				}
+				object.add(names[i], codecs[i].decode(reader));
+			}
+			return object;
+		}
+	}
+
+	// a variant is written as ["type", value]
+	private static final class VariantCodec extends AbiCodec {
+		private final String name;
+		private String[] types;
+		private AbiCodec[] codecs;
+
+		VariantCodec(String name) {
+			this.name = name;
+		}
+
+		void setTypes(String[] types, AbiCodec[] codecs) {
+			this.types = types;
+			this.codecs = codecs;
+		}
+
+		@Override
+		public void encode(JsonElement value, EosType.Writer writer) {
+			requireValue(value, name);
+			if (!value.isJsonArray() || value.getAsJsonArray().size() != 2) {
+				throw new IllegalArgumentException("expected [type, value] for variant " + name);
+			}
+
+			JsonArray pair = value.getAsJsonArray();
+			String type = pair.get(0).getAsString();
+			for (int i = 0; i < types.length; i++) {
+				if (types[i].equals(type)) {
+					writer.putVariableUInt(i);
+					codecs[i].encode(pair.get(1), writer);
+					return;
+				}
+			}
+			throw new IllegalArgumentException(type + " is not a type of variant " + name);
+		}
+
+		@Override
+		public JsonElement decode(EosType.Reader reader) throws EosType.InsufficientBytesException {
+			long index = reader.getVariableUint();
+			if (index < 0 || index >= types.length) {
+				throw new IllegalArgumentException("invalid index " + index + " of variant " + name);
+			}
+
+			JsonArray pair = new JsonArray();
+			pair.add(types[(int) index]);
+			pair.add(codecs[(int) index].decode(reader));
+			return pair;
+		}
+	}
+
+	/**
+	 * Base of the built-in types, which never see a missing value.
+	 */
+	private abstract static class BuiltIn extends AbiCodec {
+		final String type;
+
+		BuiltIn(String type) {
+			this.type = type;
+		}
+
+		abstract void encodeValue(JsonElement value, EosType.Writer writer);
+
+		@Override
+		public final void encode(JsonElement value, EosType.Writer writer) {
+			requireValue(value, type);
+			encodeValue(value, writer);
+		}
+
+		String string(JsonElement value) {
+			if (!value.isJsonPrimitive()) {
+				throw new IllegalArgumentException("expected a string for " + type);
+			}
+			return value.getAsString();
+		}
+
+		long toLong(JsonElement value, long min, long max) {
+			long v;
+			try {
+				v = Long.parseLong(string(value).trim());
+			} catch (NumberFormatException e) {
+				throw new IllegalArgumentException("expected " + type + ": " + value);
+			}
+			if (v < min || v > max) {
+				throw new IllegalArgumentException(type + " out of range: " + value);
+			}
+			return v;
+		}
+
+		BigInteger toBigInteger(JsonElement value, BigInteger min, BigInteger max) {
+			BigInteger v;
+			try {
+				v = new BigInteger(string(value).trim());
+			} catch (NumberFormatException e) {
+				throw new IllegalArgumentException("expected " + type + ": " + value);
+			}
+			if (v.compareTo(min) < 0 || v.compareTo(max) > 0) {
+				throw new IllegalArgumentException(type + " out of range: " + value);
+			}
+			return v;
+		}
+
+		double toDouble(JsonElement value) {
+			try {
+				return Double.parseDouble(string(value).trim());
+			} catch (NumberFormatException e) {
+				throw new IllegalArgumentException("expected " + type + ": " + value);
+			}
+		}
+
+		/**
+		 * @param length the required byte length, or -1 for any
+		 */
+		byte[] toHexBytes(JsonElement value, int length) {
+			byte[] bytes;
+			try {
+				bytes = HexUtils.toBytes(string(value));
+			} catch (RuntimeException e) {
+				throw new IllegalArgumentException("expected hex for " + type + ": " + e.getMessage());
+			}
+			if (length >= 0 && bytes.length != length) {
+				throw new IllegalArgumentException(type + " must be " + length + " bytes");
+			}
+			return bytes;
+		}
+
+		// "2021-10-01T00:00:30", optionally with up to microseconds and a trailing Z
+		long toMicros(JsonElement value) {
+			if (!value.isJsonPrimitive()) {
+				throw new IllegalArgumentException("expected a string for time");
+			}
+			String str = value.getAsString().trim();
+			if (str.endsWith("Z")) {
+				str = str.substring(0, str.length() - 1);
+			}
+
+			String seconds = str;
+			long fractionMicros = 0;
+			int dot = str.indexOf('.');
+			if (dot >= 0) {
+				seconds = str.substring(0, dot);
+				String fraction = (str.substring(dot + 1) + "000000").substring(0, 6);
+				try {
+					fractionMicros = Long.parseLong(fraction);
+				} catch (NumberFormatException e) {
+					throw new IllegalArgumentException("invalid time: " + value);
+				}
+			}
+
+			try {
+				return newDateFormat(false).parse(seconds).getTime() * 1000L + fractionMicros;
+			} catch (ParseException e) {
+				throw new IllegalArgumentException("invalid time: " + value);
+			}
+		}
+	}
+
+	private static final Map<String, AbiCodec> BUILT_INS = new HashMap<>();
+
+	private static void builtIn(BuiltIn codec) {
+		BUILT_INS.put(codec.type, codec);
+	}
+
+	static {
+		builtIn(new BuiltIn("bool") {
+			@Override
+			void encodeValue(JsonElement value, EosType.Writer writer) {
+				writer.put(toBoolean(value) ? (byte) 1 : (byte) 0);
+			}
+
+			private boolean toBoolean(JsonElement value) {
+				if (value.isJsonPrimitive()) {
+					JsonPrimitive primitive = value.getAsJsonPrimitive();
+					if (primitive.isBoolean()) {
+						return primitive.getAsBoolean();
+					}
+					if (primitive.isNumber()) {
+						return primitive.getAsInt() != 0;
+					}
+					if ("true".equals(primitive.getAsString())) {
+						return true;
+					}
+					if ("false".equals(primitive.getAsString())) {
+						return false;
+					}
+				}
+				throw new IllegalArgumentException("expected a bool: " + value);
+			}
+
+			@Override
+			public JsonElement decode(EosType.Reader reader) throws EosType.InsufficientBytesException {
+				return new JsonPrimitive(reader.get() != 0);
+			}
+		});
+		builtIn(new BuiltIn("int8") {
+			@Override
+			void encodeValue(JsonElement value, EosType.Writer writer) {
+				writer.put((byte) toLong(value, Byte.MIN_VALUE, Byte.MAX_VALUE));
+			}
+
+			@Override
+			public JsonElement decode(EosType.Reader reader) throws EosType.InsufficientBytesException {
+				return new JsonPrimitive(reader.get());
+			}
+		});
+		builtIn(new BuiltIn("uint8") {
+			@Override
+			void encodeValue(JsonElement value, EosType.Writer writer) {
+				writer.put((byte) toLong(value, 0, 0xFF));
+			}
+
+			@Override
+			public JsonElement decode(EosType.Reader reader) throws EosType.InsufficientBytesException {
+				return new JsonPrimitive(reader.get() & 0xFF);
+			}
+		});
+		builtIn(new BuiltIn("int16") {
+			@Override
+			void encodeValue(JsonElement value, EosType.Writer writer) {
+				writer.putShortLE((short) toLong(value, Short.MIN_VALUE, Short.MAX_VALUE));
+			}
+
+			@Override
+			public JsonElement decode(EosType.Reader reader) throws EosType.InsufficientBytesException {
+				return new JsonPrimitive((short) reader.getShortLE());
+			}
+		});
+		builtIn(new BuiltIn("uint16") {
+			@Override
+			void encodeValue(JsonElement value, EosType.Writer writer) {
+				writer.putShortLE((short) toLong(value, 0, 0xFFFF));
+			}
+
+			@Override
+			public JsonElement decode(EosType.Reader reader) throws EosType.InsufficientBytesException {
+				return new JsonPrimitive(reader.getShortLE() & 0xFFFF);
+			}
+		});
+		builtIn(new BuiltIn("int32") {
+			@Override
+			void encodeValue(JsonElement value, EosType.Writer writer) {
+				writer.putIntLE((int) toLong(value, Integer.MIN_VALUE, Integer.MAX_VALUE));
+			}
+
+			@Override
+			public JsonElement decode(EosType.Reader reader) throws EosType.InsufficientBytesException {
+				return new JsonPrimitive(reader.getIntLE());
+			}
+		});
+		builtIn(new BuiltIn("uint32") {
+			@Override
+			void encodeValue(JsonElement value, EosType.Writer writer) {
+				writer.putIntLE((int) toLong(value, 0, 0xFFFFFFFFL));
+			}
+
+			@Override
+			public JsonElement decode(EosType.Reader reader) throws EosType.InsufficientBytesException {
+				return new JsonPrimitive(reader.getIntLE() & 0xFFFFFFFFL);
+			}
+		});
+		builtIn(new BuiltIn("int64") {
+			@Override
+			void encodeValue(JsonElement value, EosType.Writer writer) {
+				writer.putLongLE(toLong(value, Long.MIN_VALUE, Long.MAX_VALUE));
+			}
+
+			@Override
+			public JsonElement decode(EosType.Reader reader) throws EosType.InsufficientBytesException {
+				// as a string, like the 128 bit types, so JSON doubles do not lose precision
+				return new JsonPrimitive(Long.toString(reader.getLongLE()));
+			}
+		});
+		builtIn(new BuiltIn("uint64") {
+			@Override
+			void encodeValue(JsonElement value, EosType.Writer writer) {
+				writer.putLongLE(toBigInteger(value, BigInteger.ZERO, UINT64_MAX).longValue());
+			}
+
+			@Override
+			public JsonElement decode(EosType.Reader reader) throws EosType.InsufficientBytesException {
+				long v = reader.getLongLE();
+				return new JsonPrimitive(((v >= 0) ? BigInteger.valueOf(v) : BigInteger.valueOf(v).and(UINT64_MAX)).toString());
+			}
+		});
+		builtIn(new BuiltIn("int128") {
+			@Override
+			void encodeValue(JsonElement value, EosType.Writer writer) {
+				putInt128(toBigInteger(value, INT128_MIN, INT128_MAX), writer);
+			}
+
+			@Override
+			public JsonElement decode(EosType.Reader reader) throws EosType.InsufficientBytesException {
+				return new JsonPrimitive(getInt128(reader, true).toString());
+			}
+		});
+		builtIn(new BuiltIn("uint128") {
+			@Override
+			void encodeValue(JsonElement value, EosType.Writer writer) {
+				putInt128(toBigInteger(value, BigInteger.ZERO, UINT128_MAX), writer);
+			}
+
+			@Override
+			public JsonElement decode(EosType.Reader reader) throws EosType.InsufficientBytesException {
+				return new JsonPrimitive(getInt128(reader, false).toString());
+			}
+		});
+		builtIn(new BuiltIn("varint32") {
+			@Override
+			void encodeValue(JsonElement value, EosType.Writer writer) {
+				int v = (int) toLong(value, Integer.MIN_VALUE, Integer.MAX_VALUE);
+				// zigzag
+				writer.putVariableUInt(((v << 1) ^ (v >> 31)) & 0xFFFFFFFFL);
+			}
+
+			@Override
+			public JsonElement decode(EosType.Reader reader) throws EosType.InsufficientBytesException {
+				int v = (int) reader.getVariableUint();
+				return new JsonPrimitive((v >>> 1) ^ -(v & 1));
+			}
+		});
+		builtIn(new BuiltIn("varuint32") {
+			@Override
+			void encodeValue(JsonElement value, EosType.Writer writer) {
+				writer.putVariableUInt(toLong(value, 0, 0xFFFFFFFFL));
+			}
+
+			@Override
+			public JsonElement decode(EosType.Reader reader) throws EosType.InsufficientBytesException {
+				return new JsonPrimitive(reader.getVariableUint() & 0xFFFFFFFFL);
+			}
+		});
+		builtIn(new BuiltIn("float32") {
+			@Override
+			void encodeValue(JsonElement value, EosType.Writer writer) {
+				writer.putIntLE(Float.floatToIntBits((float) toDouble(value)));
+			}
+
+			@Override
+			public JsonElement decode(EosType.Reader reader) throws EosType.InsufficientBytesException {
+				return new JsonPrimitive(Float.intBitsToFloat(reader.getIntLE()));
+			}
+		});
+		builtIn(new BuiltIn("float64") {
+			@Override
+			void encodeValue(JsonElement value, EosType.Writer writer) {
+				writer.putLongLE(Double.doubleToLongBits(toDouble(value)));
+			}
+
+			@Override
+			public JsonElement decode(EosType.Reader reader) throws EosType.InsufficientBytesException {
+				return new JsonPrimitive(Double.longBitsToDouble(reader.getLongLE()));
+			}
+		});
+		builtIn(new FixedBytes("float128", 16));
+		builtIn(new FixedBytes("checksum160", 20));
+		builtIn(new FixedBytes("checksum256", 32));
+		builtIn(new FixedBytes("checksum512", 64));
+		builtIn(new BuiltIn("time_point") {
+			@Override
+			void encodeValue(JsonElement value, EosType.Writer writer) {
+				writer.putLongLE(toMicros(value));
+			}
+
+			@Override
+			public JsonElement decode(EosType.Reader reader) throws EosType.InsufficientBytesException {
+				return new JsonPrimitive(newDateFormat(true).format(new Date(reader.getLongLE() / 1000L)));
+			}
+		});
+		builtIn(new BuiltIn("time_point_sec") {
+			@Override
+			void encodeValue(JsonElement value, EosType.Writer writer) {
+				writer.putIntLE((int) (toMicros(value) / 1000000L));
+			}
+
+			@Override
+			public JsonElement decode(EosType.Reader reader) throws EosType.InsufficientBytesException {
+				return new JsonPrimitive(newDateFormat(false).format(new Date((reader.getIntLE() & 0xFFFFFFFFL) * 1000L)));
+			}
+		});
+		builtIn(new BuiltIn("block_timestamp_type") {
+			@Override
+			void encodeValue(JsonElement value, EosType.Writer writer) {
+				writer.putIntLE((int) ((toMicros(value) / 1000L - BLOCK_TIMESTAMP_EPOCH_MS) / BLOCK_INTERVAL_MS));
+			}
+
+			@Override
+			public JsonElement decode(EosType.Reader reader) throws EosType.InsufficientBytesException {
+				long millis = (reader.getIntLE() & 0xFFFFFFFFL) * BLOCK_INTERVAL_MS + BLOCK_TIMESTAMP_EPOCH_MS;
+				return new JsonPrimitive(newDateFormat(true).format(new Date(millis)));
+			}
+		});
+		builtIn(new BuiltIn("name") {
+			@Override
+			void encodeValue(JsonElement value, EosType.Writer writer) {
+				writer.putLongLE(nameValue(string(value)));
+			}
+
+			@Override
+			public JsonElement decode(EosType.Reader reader) throws EosType.InsufficientBytesException {
+				return new JsonPrimitive(TypeName.name_to_string(reader.getLongLE()));
+			}
+		});
+		builtIn(new BuiltIn("bytes") {
+			@Override
+			void encodeValue(JsonElement value, EosType.Writer writer) {
+				byte[] bytes = toHexBytes(value, -1);
+				writer.putVariableUInt(bytes.length);
+				writer.putBytes(bytes);
+			}
+
+			@Override
+			public JsonElement decode(EosType.Reader reader) throws EosType.InsufficientBytesException {
+				return new JsonPrimitive(HexUtils.toHex(reader.getBytes(getSize(reader))));
+			}
+		});
+		builtIn(new BuiltIn("string") {
+			@Override
+			void encodeValue(JsonElement value, EosType.Writer writer) {
+				// length in bytes, unlike EosType.Writer.putString which counts chars
+				byte[] bytes = string(value).getBytes(StandardCharsets.UTF_8);
+				writer.putVariableUInt(bytes.length);
+				writer.putBytes(bytes);
+			}
+
+			@Override
+			public JsonElement decode(EosType.Reader reader) throws EosType.InsufficientBytesException {
+				return new JsonPrimitive(new String(reader.getBytes(getSize(reader)), StandardCharsets.UTF_8));
+			}
+		});
+		builtIn(new BuiltIn("public_key") {
+			@Override
+			void encodeValue(JsonElement value, EosType.Writer writer) {
+				EosPublicKey key = EosPublicKey.fromString(string(value));
+				writer.put(key.isCurveParamK1() ? (byte) CurveParam.SECP256_K1 : (byte) CurveParam.SECP256_R1);
+				writer.putBytes(key.getBytes());
+			}
+
+			@Override
+			public JsonElement decode(EosType.Reader reader) throws EosType.InsufficientBytesException {
+				CurveParam curveParam = getCurveParam(reader);
+				return new JsonPrimitive(new EosPublicKey(reader.getBytes(33), curveParam).toString());
+			}
+		});
+		builtIn(new BuiltIn("signature") {
+			@Override
+			void encodeValue(JsonElement value, EosType.Writer writer) {
+				String str = string(value);
+				String[] parts = EosEcUtil.safeSplitEosCryptoString(str);
+				if (parts.length < 3 || !SIGNATURE_PREFIX.equals(parts[0])) {
+					throw new IllegalArgumentException("invalid signature: " + str);
+				}
+
+				CurveParam curveParam = EosEcUtil.getCurveParamFrom(parts[1]);
+				byte[] data = EosEcUtil.getBytesIfMatchedRipemd160(parts[2], parts[1], null);
+
+				writer.put(curveParam.isType(CurveParam.SECP256_K1) ? (byte) CurveParam.SECP256_K1 : (byte) CurveParam.SECP256_R1);
+				writer.putBytes(data);
+			}
+
+			@Override
+			public JsonElement decode(EosType.Reader reader) throws EosType.InsufficientBytesException {
+				CurveParam curveParam = getCurveParam(reader);
+				return new JsonPrimitive(EosEcUtil.encodeEosCrypto(SIGNATURE_PREFIX, curveParam, reader.getBytes(65)));
+			}
+		});
+		// "4,XPR"
+		builtIn(new BuiltIn("symbol") {
+			@Override
+			void encodeValue(JsonElement value, EosType.Writer writer) {
+				String str = string(value);
+				int comma = str.indexOf(',');
+				if (comma < 0) {
+					throw new IllegalArgumentException("invalid symbol: " + str);
+				}
+
+				int precision;
+				try {
+					precision = Integer.parseInt(str.substring(0, comma).trim());
+				} catch (NumberFormatException e) {
+					throw new IllegalArgumentException("invalid symbol: " + str);
+				}
+				writer.putLongLE(symbolValue(precision, str.substring(comma + 1).trim()));
+			}
+
+			@Override
+			public JsonElement decode(EosType.Reader reader) throws EosType.InsufficientBytesException {
+				long symbol = reader.getLongLE();
+				return new JsonPrimitive((symbol & 0xFF) + "," + symbolCode(symbol >>> 8));
+			}
+		});
+		builtIn(new BuiltIn("symbol_code") {
+			@Override
+			void encodeValue(JsonElement value, EosType.Writer writer) {
+				writer.putLongLE(symbolValue(0, string(value).trim()) >>> 8);
+			}
+
+			@Override
+			public JsonElement decode(EosType.Reader reader) throws EosType.InsufficientBytesException {
+				return new JsonPrimitive(symbolCode(reader.getLongLE()));
+			}
+		});
+		// "-1.0000 XPR"; the precision is the number of decimals given
+		builtIn(new BuiltIn("asset") {
+			@Override
+			void encodeValue(JsonElement value, EosType.Writer writer) {
+				String str = string(value);
+				String trimmed = str.trim();
+				int space = trimmed.indexOf(' ');
+				if (space < 0) {
+					throw new IllegalArgumentException("invalid asset: " + str);
+				}
+
+				String amount = trimmed.substring(0, space);
+				boolean negative = amount.startsWith("-");
+				if (negative) {
+					amount = amount.substring(1);
+				}
+
+				int dot = amount.indexOf('.');
+				int precision = (dot < 0) ? 0 : amount.length() - dot - 1;
+				String digits = (dot < 0) ? amount : amount.substring(0, dot) + amount.substring(dot + 1);
+
+				long amountValue;
+				try {
+					if (digits.isEmpty() || digits.charAt(0) == '+' || digits.charAt(0) == '-') {
+						throw new NumberFormatException();
+					}
+					amountValue = Long.parseLong(digits);
+				} catch (NumberFormatException e) {
+					throw new IllegalArgumentException("invalid asset amount: " + str);
+				}
+
+				writer.putLongLE(negative ? -amountValue : amountValue);
+				writer.putLongLE(symbolValue(precision, trimmed.substring(space + 1).trim()));
+			}
+
+			@Override
+			public JsonElement decode(EosType.Reader reader) throws EosType.InsufficientBytesException {
+				return new JsonPrimitive(formatAsset(reader.getLongLE(), reader.getLongLE()));
+			}
+		});
+		builtIn(new BuiltIn("extended_asset") {
+			@Override
+			void encodeValue(JsonElement value, EosType.Writer writer) {
+				if (!value.isJsonObject()) {
+					throw new IllegalArgumentException("expected an object for " + type);
+				}
+				JsonObject object = value.getAsJsonObject();
+				BUILT_INS.get("asset").encode(object.get("quantity"), writer);
+				BUILT_INS.get("name").encode(object.get("contract"), writer);
+			}
+
+			@Override
+			public JsonElement decode(EosType.Reader reader) throws EosType.InsufficientBytesException {
+				JsonObject object = new JsonObject();
+				object.add("quantity", BUILT_INS.get("asset").decode(reader));
+				object.add("contract", BUILT_INS.get("name").decode(reader));
+				return object;
+			}
+		});
+	}
+
+	private static final class FixedBytes extends BuiltIn {
+		private final int length;
+
+		FixedBytes(String type, int length) {
+			super(type);
+			this.length = length;
+		}
+
+		@Override
+		void encodeValue(JsonElement value, EosType.Writer writer) {
+			writer.putBytes(toHexBytes(value, length));
+		}
+
+		@Override
+		public JsonElement decode(EosType.Reader reader) throws EosType.InsufficientBytesException {
+			return new JsonPrimitive(HexUtils.toHex(reader.getBytes(length)));
+		}
+	}
+
+	private static void requireValue(JsonElement value, String type) {
+		if (value == null || value.isJsonNull()) {
+			throw new IllegalArgumentException("missing value of type " + type);
+		}
+	}
+
+	private static SimpleDateFormat newDateFormat(boolean millis) {
+		SimpleDateFormat sdf = new SimpleDateFormat(millis ? "yyyy-MM-dd'T'HH:mm:ss.SSS" : "yyyy-MM-dd'T'HH:mm:ss", Locale.US);
+		sdf.setTimeZone(TimeZone.getTimeZone("UTC"));
+		sdf.setLenient(false);
+		return sdf;
+	}
+
+	private static int getSize(EosType.Reader reader) throws EosType.InsufficientBytesException {
+		return (int) (reader.getVariableUint() & 0x7FFFFFFF);
+	}
+
+	private static CurveParam getCurveParam(EosType.Reader reader) throws EosType.InsufficientBytesException {
+		int type = reader.get();
+		if (type != CurveParam.SECP256_K1 && type != CurveParam.SECP256_R1) {
+			throw new IllegalArgumentException("unsupported key type " + type);
+		}
+		return EcTools.getCurveParam(type);
+	}
+
+	private static void putInt128(BigInteger value, EosType.Writer writer) {
+		byte[] bigEndian = value.toByteArray();
+		byte fill = (value.signum() < 0) ? (byte) 0xFF : 0;
+
+		byte[] littleEndian = new byte[16];
+		for (int i = 0; i < littleEndian.length; i++) {
+			littleEndian[i] = (i < bigEndian.length) ? bigEndian[bigEndian.length - 1 - i] : fill;
+		}
+		writer.putBytes(littleEndian);
+	}
+
+	private static BigInteger getInt128(EosType.Reader reader, boolean signed) throws EosType.InsufficientBytesException {
+		byte[] littleEndian = reader.getBytes(16);
+		byte[] bigEndian = new byte[16];
+		for (int i = 0; i < 16; i++) {
+			bigEndian[i] = littleEndian[15 - i];
+		}
+		return signed ? new BigInteger(bigEndian) : new BigInteger(1, bigEndian);
+	}
+
+	// TypeName.string_to_name maps invalid characters to '.' and drops anything past 13 characters
+	private static long nameValue(String name) {
+		if (name.length() > 13) {
+			throw new IllegalArgumentException("invalid name: " + name);
+		}
+		for (int i = 0; i < name.length(); i++) {
+			char c = name.charAt(i);
+			char max = (i == 12) ? 'j' : 'z';
+			if (c != '.' && (c < 'a' || c > max) && (c < '1' || c > '5')) {
+				throw new IllegalArgumentException("invalid name: " + name);
+			}
+		}
+
+		long value = TypeName.string_to_name(name);
+		if (!TypeName.name_to_string(value).equals(name.replaceAll("[.]+$", ""))) {
+			throw new IllegalArgumentException("invalid name: " + name);
+		}
+		return value;
+	}
+
+	private static long symbolValue(int precision, String code) {
+		if (code.isEmpty() || code.length() > 7 || !TypeSymbol.validName(code)) {
+			throw new IllegalArgumentException("invalid symbol code: " + code);
+		}
+		if (precision < 0 || precision > 18) {
+			throw new IllegalArgumentException("invalid symbol precision: " + precision);
+		}
+		return TypeSymbol.stringToSymbol(precision, code);
+	}
+
+	private static String symbolCode(long code) {
+		StringBuilder result = new StringBuilder(7);
+		while (code != 0) {
+			result.append((char) (code & 0xFF));
+			code >>>= 8;
+		}
+		return result.toString();
+	}
+
+	private static String formatAsset(long amount, long symbol) {
+		int precision = (int) (symbol & 0xFF);
+		return BigDecimal.valueOf(amount, precision).toPlainString() + " " + symbolCode(symbol >>> 8);
+	}
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2021 Proton Chain LLC, Delaware
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.metallicus.protonsdk.eosio.commander.abi;
+
+import com.google.gson.JsonElement;
+import com.metallicus.protonsdk.eosio.commander.model.types.EosBufferReader;
+import com.metallicus.protonsdk.eosio.commander.model.types.EosType;
+import com.metallicus.protonsdk.eosio.commander.model.types.PooledEosByteWriter;
+
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Packs action data from JSON to binary using the contract's ABI, the same way the chain's abi_json_to_bin
+ * does, so no round trip to a node is needed before signing, and unpacks it back to JSON.
+ * <p>
+ * Supports typedefs, structs with bases, arrays ("T[]"), optionals ("T?"), binary extensions ("T$"), variants
+ * and the built-in types of eosio::abi/1.1 except the webauthn key and signature types. Invalid input throws an
+ * {@link IllegalArgumentException} naming the offending field.
+ * <p>
+ * Each type is compiled into an {@link AbiCodec} the first time it is used and the codec is kept for the life
+ * of the serializer, so an action packed repeatedly only pays for walking its fields.
+ */
+public class AbiSerializer {
+
+	private final EosAbi mAbi;
+
+	private final Map<String, AbiCodec> mCodecs = new ConcurrentHashMap<>();
+
+	public AbiSerializer(EosAbi abi) {
+		mAbi = abi;
+	}
+
+	public EosAbi getAbi() {
+		return mAbi;
+	}
+
+	/**
+	 * @return the packed data of action, ready for {@link com.metallicus.protonsdk.eosio.commander.model.chain.Action#setData}
+	 * once hex encoded
+	 */
+	public byte[] packActionData(String action, JsonElement data) {
+		try (PooledEosByteWriter writer = PooledEosByteWriter.obtain()) {
+			getActionCodec(action).encode(data, writer);
+			return writer.toBytes();
+		}
+	}
+
+	public void pack(String type, JsonElement value, EosType.Writer writer) {
+		getCodec(type).encode(value, writer);
+	}
+
+	/**
+	 * @return data of action in the JSON form {@link #packActionData} accepts
+	 */
+	public JsonElement unpackActionData(String action, byte[] data) throws EosType.InsufficientBytesException {
+		return unpackActionData(action, ByteBuffer.wrap(data));
+	}
+
+	/**
+	 * Unpacks from the remaining bytes of data, which may be a heap, direct or memory-mapped buffer.
+	 * The position of data is left alone.
+	 */
+	public JsonElement unpackActionData(String action, ByteBuffer data) throws EosType.InsufficientBytesException {
+		return getActionCodec(action).decode(new EosBufferReader(data));
+	}
+
+	public JsonElement unpack(String type, EosType.Reader reader) throws EosType.InsufficientBytesException {
+		return getCodec(type).decode(reader);
+	}
+
+	/**
+	 * @throws IllegalArgumentException if the abi has no such action or its type cannot be compiled
+	 */
+	public AbiCodec getActionCodec(String action) {
+		String type = mAbi.getActionType(action);
+		if (type == null) {
+			throw new IllegalArgumentException("Unknown action: " + action);
+		}
+		return getCodec(type);
+	}
+
+	/**
+	 * @throws IllegalArgumentException if type cannot be compiled
+	 */
+	public AbiCodec getCodec(String type) {
+		AbiCodec codec = mCodecs.get(type);
+		if (codec == null) {
+			// compiling twice on a race is harmless, both codecs are equivalent
+			codec = AbiCodec.compile(mAbi, type);
+			mCodecs.put(type, codec);
+		}
+		return codec;
+	}
+}
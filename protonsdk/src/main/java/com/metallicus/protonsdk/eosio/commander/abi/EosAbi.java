@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2021 Proton Chain LLC, Delaware
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.metallicus.protonsdk.eosio.commander.abi;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The parts of a contract ABI needed to serialize action data: type aliases, structs, variants and the
+ * struct type of each action.
+ */
+public final class EosAbi {
+
+	public static final class Field {
+		public final String name;
+		public final String type;
+
+		Field(String name, String type) {
+			this.name = name;
+			this.type = type;
+		}
+	}
+
+	public static final class Struct {
+		public final String name;
+		public final String base;
+		public final List<Field> fields;
+
+		Struct(String name, String base, List<Field> fields) {
+			this.name = name;
+			this.base = base;
+			this.fields = fields;
+		}
+	}
+
+	private final String mVersion;
+	private final Map<String, String> mTypes;
+	private final Map<String, Struct> mStructs;
+	private final Map<String, List<String>> mVariants;
+	private final Map<String, String> mActions;
+
+	private EosAbi(String version, Map<String, String> types, Map<String, Struct> structs,
+				   Map<String, List<String>> variants, Map<String, String> actions) {
+		mVersion = version;
+		mTypes = types;
+		mStructs = structs;
+		mVariants = variants;
+		mActions = actions;
+	}
+
+	/**
+	 * @param json either the abi object itself or a get_abi response wrapping it in "abi"
+	 * @throws IllegalArgumentException if json is not an ABI
+	 */
+	public static EosAbi fromJson(JsonObject json) {
+		if (json.has("abi") && json.get("abi").isJsonObject()) {
+			json = json.getAsJsonObject("abi");
+		}
+
+		try {
+			Map<String, String> types = new HashMap<>();
+			for (JsonElement element : array(json, "types")) {
+				JsonObject type = element.getAsJsonObject();
+				types.put(type.get("new_type_name").getAsString(), type.get("type").getAsString());
+			}
+
+			Map<String, Struct> structs = new HashMap<>();
+			for (JsonElement element : array(json, "structs")) {
+				JsonObject struct = element.getAsJsonObject();
+
+				List<Field> fields = new ArrayList<>();
+				for (JsonElement fieldElement : array(struct, "fields")) {
+					JsonObject field = fieldElement.getAsJsonObject();
+					fields.add(new Field(field.get("name").getAsString(), field.get("type").getAsString()));
+				}
+
+				String name = struct.get("name").getAsString();
+				String base = struct.has("base") ? struct.get("base").getAsString() : "";
+				structs.put(name, new Struct(name, base, Collections.unmodifiableList(fields)));
+			}
+
+			Map<String, List<String>> variants = new HashMap<>();
+			for (JsonElement element : array(json, "variants")) {
+				JsonObject variant = element.getAsJsonObject();
+
+				List<String> variantTypes = new ArrayList<>();
+				for (JsonElement type : array(variant, "types")) {
+					variantTypes.add(type.getAsString());
+				}
+				variants.put(variant.get("name").getAsString(), Collections.unmodifiableList(variantTypes));
+			}
+
+			Map<String, String> actions = new HashMap<>();
+			for (JsonElement element : array(json, "actions")) {
+				JsonObject action = element.getAsJsonObject();
+				actions.put(action.get("name").getAsString(), action.get("type").getAsString());
+			}
+
+			String version = json.has("version") ? json.get("version").getAsString() : "";
+
+			return new EosAbi(version, types, structs, variants, actions);
+		} catch (RuntimeException e) {
+			throw new IllegalArgumentException("Invalid abi: " + e.getMessage(), e);
+		}
+	}
+
+	private static JsonArray array(JsonObject json, String name) {
+		JsonElement element = json.get(name);
+		return (element != null && element.isJsonArray()) ? element.getAsJsonArray() : new JsonArray();
+	}
+
+	public String getVersion() {
+		return mVersion;
+	}
+
+	/**
+	 * @return the struct type of action's data, or null if the contract has no such action
+	 */
+	public String getActionType(String action) {
+		return mActions.get(action);
+	}
+
+	public boolean hasAction(String action) {
+		return mActions.containsKey(action);
+	}
+
+	/**
+	 * @return the type a typedef stands for, or null if name is not a typedef
+	 */
+	public String getTypeAlias(String name) {
+		return mTypes.get(name);
+	}
+
+	public Struct getStruct(String name) {
+		return mStructs.get(name);
+	}
+
+	public List<String> getVariant(String name) {
+		return mVariants.get(name);
+	}
+}
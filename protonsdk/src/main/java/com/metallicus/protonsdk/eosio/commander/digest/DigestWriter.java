@@ -0,0 +1,187 @@
+package com.metallicus.protonsdk.eosio.commander.digest;
+
+import com.metallicus.protonsdk.eosio.commander.model.types.EosByteWriter;
+import com.metallicus.protonsdk.eosio.commander.model.types.EosType;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * An {@link EosType.Writer} that feeds everything packed into it straight into a hash, so nothing has to be
+ * serialized into an intermediate array first.
+ * <p>
+ * Optionally the same bytes are also written to a tee writer, e.g. the buffer that goes on the wire.
+ * {@link #toBytes()} returns the tee's bytes; without a tee there are none to return.
+ */
+public abstract class DigestWriter implements EosType.Writer {
+	private final EosType.Writer mTee;
+	private final byte[] mScratch = new byte[64];
+	private int mLength;
+
+	protected DigestWriter(EosType.Writer tee) {
+		mTee = tee;
+	}
+
+	protected abstract void update(byte b);
+
+	protected abstract void update(byte[] data, int offset, int length);
+
+	protected void update(ByteBuffer data) {
+		while (data.hasRemaining()) {
+			int count = Math.min(data.remaining(), mScratch.length);
+			data.get(mScratch, 0, count);
+			update(mScratch, 0, count);
+		}
+	}
+
+	/**
+	 * Forgets everything written so far. The tee, if any, is left alone.
+	 */
+	public void reset() {
+		mLength = 0;
+	}
+
+	@Override
+	public void put(byte b) {
+		update(b);
+		mLength++;
+
+		if (mTee != null) {
+			mTee.put(b);
+		}
+	}
+
+	@Override
+	public void putShortLE(short value) {
+		mScratch[0] = (byte) (0xFF & (value));
+		mScratch[1] = (byte) (0xFF & (value >> 8));
+		update(mScratch, 0, 2);
+		mLength += 2;
+
+		if (mTee != null) {
+			mTee.putShortLE(value);
+		}
+	}
+
+	@Override
+	public void putIntLE(int value) {
+		mScratch[0] = (byte) (0xFF & (value));
+		mScratch[1] = (byte) (0xFF & (value >> 8));
+		mScratch[2] = (byte) (0xFF & (value >> 16));
+		mScratch[3] = (byte) (0xFF & (value >> 24));
+		update(mScratch, 0, 4);
+		mLength += 4;
+
+		if (mTee != null) {
+			mTee.putIntLE(value);
+		}
+	}
+
+	@Override
+	public void putLongLE(long value) {
+		for (int i = 0; i < 8; i++) {
+			mScratch[i] = (byte) (0xFFL & (value >> (8 * i)));
+		}
+		update(mScratch, 0, 8);
+		mLength += 8;
+
+		if (mTee != null) {
+			mTee.putLongLE(value);
+		}
+	}
+
+	@Override
+	public void putBytes(byte[] value) {
+		update(value, 0, value.length);
+		mLength += value.length;
+
+		if (mTee != null) {
+			mTee.putBytes(value);
+		}
+	}
+
+	public void putBytes(byte[] value, int offset, int length) {
+		update(value, offset, length);
+		mLength += length;
+
+		if (mTee instanceof EosByteWriter) {
+			((EosByteWriter) mTee).putBytes(value, offset, length);
+		} else if (mTee != null) {
+			mTee.putBytes(Arrays.copyOfRange(value, offset, offset + length));
+		}
+	}
+
+	/**
+	 * Writes the remaining bytes of value, advancing its position to its limit.
+	 */
+	public void putBytes(ByteBuffer value) {
+		int length = value.remaining();
+		if (mTee instanceof EosByteWriter) {
+			((EosByteWriter) mTee).putBytes(value.duplicate());
+		} else if (mTee != null) {
+			byte[] copy = new byte[length];
+			value.duplicate().get(copy);
+			mTee.putBytes(copy);
+		}
+
+		update(value);
+		mLength += length;
+	}
+
+	@Override
+	public void putString(String value) {
+		if (null == value) {
+			putVariableUInt(0);
+			return;
+		}
+
+		// same layout as EosByteWriter.putString
+		putVariableUInt(value.length());
+		putBytes(value.getBytes());
+	}
+
+	@Override
+	public void putCollection(Collection<? extends EosType.Packer> collection) {
+		if (null == collection) {
+			putVariableUInt(0);
+			return;
+		}
+
+		putVariableUInt(collection.size());
+
+		for (EosType.Packer type : collection) {
+			type.pack(this);
+		}
+	}
+
+	@Override
+	public void putVariableUInt(long val) {
+		do {
+			byte b = (byte) ((val) & 0x7f);
+			val >>= 7;
+			b |= (((val > 0) ? 1 : 0) << 7);
+			put(b);
+		} while (val != 0);
+	}
+
+	/**
+	 * @return the bytes written to the tee
+	 * @throws IllegalStateException if there is no tee
+	 */
+	@Override
+	public byte[] toBytes() {
+		if (mTee == null) {
+			throw new IllegalStateException("a DigestWriter without a tee keeps no bytes");
+		}
+		return mTee.toBytes();
+	}
+
+	/**
+	 * @return the number of bytes hashed so far
+	 */
+	@Override
+	public int length() {
+		return mLength;
+	}
+}
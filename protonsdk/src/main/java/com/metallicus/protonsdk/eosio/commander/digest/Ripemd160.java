@@ -1,10 +1,21 @@
 package com.metallicus.protonsdk.eosio.commander.digest;
 
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
 /**
  * Created by swapnibble on 2017-09-02.
  */
 
 public class Ripemd160 {
+	// every key and signature checksum goes through here, so each thread keeps one digest around
+	private static final ThreadLocal<Digest> DIGEST = new ThreadLocal<Digest>() {
+		@Override
+		protected Digest initialValue() {
+			return new Digest();
+		}
+	};
+
 	final private byte[] mDigestBytes;
 
 	public Ripemd160(byte[] digest) {
@@ -17,8 +28,19 @@ public class Ripemd160 {
 	}
 
 	public static Ripemd160 from(byte[] data, int startOffset, int length) {
-		Digest digest = new Digest();
+		return from(data, startOffset, length, null);
+	}
+
+	/**
+	 * @return the hash of data[startOffset, startOffset + length) followed by suffix, which may be null
+	 */
+	public static Ripemd160 from(byte[] data, int startOffset, int length, byte[] suffix) {
+		Digest digest = DIGEST.get();
+		digest.reset();
 		digest.update(data, startOffset, length);
+		if (suffix != null) {
+			digest.update(suffix, 0, suffix.length);
+		}
 
 		byte[] result = new byte[Digest.DIGEST_LENGTH];
 		digest.doFinal(result, 0);
@@ -27,18 +49,39 @@ public class Ripemd160 {
 	}
 
 
+	public static Ripemd160 from(ByteBuffer data) {
+		Digest digest = DIGEST.get();
+		digest.reset();
+		digest.update(data);
+
+		byte[] result = new byte[Digest.DIGEST_LENGTH];
+		digest.doFinal(result, 0);
+
+		return new Ripemd160(result);
+	}
+
 	public byte[] bytes() {
 		return mDigestBytes;
 	}
 
 
-	public static class Digest extends GeneralDigest {
+	/**
+	 * RIPEMD-160 working directly on 64 byte blocks of the input. An instance can be reset and reused;
+	 * it is not thread safe.
+	 */
+	public static class Digest {
 		static final int DIGEST_LENGTH = 20;
+		private static final int BLOCK_LENGTH = 64;
 
 		private int H0, H1, H2, H3, H4; // IV's
 
-		private int[] X = new int[16];
-		private int xOff;
+		private final int[] X = new int[16];
+
+		// partial block carried over between updates
+		private final byte[] mBuffer = new byte[BLOCK_LENGTH];
+		private int mBufferOff;
+
+		private long mByteCount;
 
 		/**
 		 * Standard constructor
@@ -47,22 +90,82 @@ public class Ripemd160 {
 			reset();
 		}
 
-		protected void processWord(byte[] in, int inOff) {
-			X[xOff++] = (in[inOff] & 0xff) | ((in[inOff + 1] & 0xff) << 8) | ((in[inOff + 2] & 0xff) << 16)
-				| ((in[inOff + 3] & 0xff) << 24);
+		public void update(byte in) {
+			mBuffer[mBufferOff++] = in;
+			mByteCount++;
+
+			if (mBufferOff == BLOCK_LENGTH) {
+				processBlock(mBuffer, 0);
+				mBufferOff = 0;
+			}
+		}
+
+		public void update(byte[] in, int inOff, int len) {
+			if (len <= 0) {
+				return;
+			}
+			if (inOff < 0 || inOff > in.length - len) {
+				throw new ArrayIndexOutOfBoundsException("offset " + inOff + ", length " + len + ", size " + in.length);
+			}
+
+			mByteCount += len;
+
+			//
+			// fill the current block
+			//
+			if (mBufferOff != 0) {
+				int count = Math.min(len, BLOCK_LENGTH - mBufferOff);
+				System.arraycopy(in, inOff, mBuffer, mBufferOff, count);
+				mBufferOff += count;
+				inOff += count;
+				len -= count;
+
+				if (mBufferOff < BLOCK_LENGTH) {
+					return;
+				}
+				processBlock(mBuffer, 0);
+				mBufferOff = 0;
+			}
+
+			//
+			// process whole blocks straight from the input.
+			//
+			while (len >= BLOCK_LENGTH) {
+				processBlock(in, inOff);
+				inOff += BLOCK_LENGTH;
+				len -= BLOCK_LENGTH;
+			}
 
-			if (xOff == 16) {
-				processBlock();
+			//
+			// keep the remainder.
+			//
+			if (len > 0) {
+				System.arraycopy(in, inOff, mBuffer, 0, len);
+				mBufferOff = len;
 			}
 		}
 
-		protected void processLength(long bitLength) {
-			if (xOff > 14) {
-				processBlock();
+		/**
+		 * Hashes the remaining bytes of in, advancing its position to its limit.
+		 */
+		public void update(ByteBuffer in) {
+			if (in.hasArray()) {
+				update(in.array(), in.arrayOffset() + in.position(), in.remaining());
+				in.position(in.limit());
+				return;
 			}
 
-			X[14] = (int) (bitLength & 0xffffffff);
-			X[15] = (int) (bitLength >>> 32);
+			while (in.hasRemaining()) {
+				int count = Math.min(in.remaining(), BLOCK_LENGTH - mBufferOff);
+				in.get(mBuffer, mBufferOff, count);
+				mBufferOff += count;
+				mByteCount += count;
+
+				if (mBufferOff == BLOCK_LENGTH) {
+					processBlock(mBuffer, 0);
+					mBufferOff = 0;
+				}
+			}
 		}
 
 		private void unpackWord(int word, byte[] out, int outOff) {
@@ -73,7 +176,21 @@ public class Ripemd160 {
 		}
 
 		public int doFinal(byte[] out, int outOff) {
-			finish();
+			long bitLength = (mByteCount << 3);
+
+			//
+			// add the pad bytes and the length.
+			//
+			mBuffer[mBufferOff++] = (byte) 128;
+			if (mBufferOff > BLOCK_LENGTH - 8) {
+				Arrays.fill(mBuffer, mBufferOff, BLOCK_LENGTH, (byte) 0);
+				processBlock(mBuffer, 0);
+				mBufferOff = 0;
+			}
+			Arrays.fill(mBuffer, mBufferOff, BLOCK_LENGTH - 8, (byte) 0);
+			unpackWord((int) bitLength, mBuffer, BLOCK_LENGTH - 8);
+			unpackWord((int) (bitLength >>> 32), mBuffer, BLOCK_LENGTH - 4);
+			processBlock(mBuffer, 0);
 
 			unpackWord(H0, out, outOff);
 			unpackWord(H1, out, outOff + 4);
@@ -90,25 +207,27 @@ public class Ripemd160 {
 		 * reset the chaining variables to the IV values.
 		 */
 		public void reset() {
-			super.reset();
-
 			H0 = 0x67452301;
 			H1 = 0xefcdab89;
 			H2 = 0x98badcfe;
 			H3 = 0x10325476;
 			H4 = 0xc3d2e1f0;
 
-			xOff = 0;
+			mByteCount = 0;
+			mBufferOff = 0;
 
-			for (int i = 0; i != X.length; i++) {
-				X[i] = 0;
-			}
+			Arrays.fill(mBuffer, (byte) 0);
+			Arrays.fill(X, 0);
+		}
+
+		public int getByteLength() {
+			return BLOCK_LENGTH;
 		}
 
 		/*
 		 * rotate int x left n bits.
 		 */
-		private int RL(int x, int n) {
+		private static int RL(int x, int n) {
 			return (x << n) | (x >>> (32 - n));
 		}
 
@@ -119,39 +238,45 @@ public class Ripemd160 {
 		/*
 		 * rounds 0-15
 		 */
-		private int f1(int x, int y, int z) {
+		private static int f1(int x, int y, int z) {
 			return x ^ y ^ z;
 		}
 
 		/*
 		 * rounds 16-31
 		 */
-		private int f2(int x, int y, int z) {
+		private static int f2(int x, int y, int z) {
 			return (x & y) | (~x & z);
 		}
 
 		/*
 		 * rounds 32-47
 		 */
-		private int f3(int x, int y, int z) {
+		private static int f3(int x, int y, int z) {
 			return (x | ~y) ^ z;
 		}
 
 		/*
 		 * rounds 48-63
 		 */
-		private int f4(int x, int y, int z) {
+		private static int f4(int x, int y, int z) {
 			return (x & z) | (y & ~z);
 		}
 
 		/*
 		 * rounds 64-79
 		 */
-		private int f5(int x, int y, int z) {
+		private static int f5(int x, int y, int z) {
 			return x ^ (y | ~z);
 		}
 
-		protected void processBlock() {
+		private void processBlock(byte[] in, int inOff) {
+			int[] X = this.X;
+			for (int i = 0; i < 16; i++, inOff += 4) {
+				X[i] = (in[inOff] & 0xff) | ((in[inOff + 1] & 0xff) << 8) | ((in[inOff + 2] & 0xff) << 16)
+					| ((in[inOff + 3] & 0xff) << 24);
+			}
+
 			int a, aa;
 			int b, bb;
 			int c, cc;
@@ -525,14 +650,6 @@ public class Ripemd160 {
 			H3 = H4 + a + bb;
 			H4 = H0 + b + cc;
 			H0 = dd;
-
-			//
-			// reset the offset and clean out the word buffer.
-			//
-			xOff = 0;
-			for (int i = 0; i != X.length; i++) {
-				X[i] = 0;
-			}
 		}
 	}
 }
@@ -0,0 +1,51 @@
+package com.metallicus.protonsdk.eosio.commander.digest;
+
+import com.metallicus.protonsdk.eosio.commander.model.types.EosType;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Packs EOS types directly into a RIPEMD-160 state.
+ */
+public class Ripemd160Writer extends DigestWriter {
+	private final Ripemd160.Digest mDigest = new Ripemd160.Digest();
+
+	public Ripemd160Writer() {
+		this(null);
+	}
+
+	public Ripemd160Writer(EosType.Writer tee) {
+		super(tee);
+	}
+
+	@Override
+	protected void update(byte b) {
+		mDigest.update(b);
+	}
+
+	@Override
+	protected void update(byte[] data, int offset, int length) {
+		mDigest.update(data, offset, length);
+	}
+
+	@Override
+	protected void update(ByteBuffer data) {
+		mDigest.update(data);
+	}
+
+	@Override
+	public void reset() {
+		super.reset();
+		mDigest.reset();
+	}
+
+	/**
+	 * @return the hash of everything written; the writer starts over afterwards
+	 */
+	public Ripemd160 digest() {
+		byte[] result = new byte[Ripemd160.Digest.DIGEST_LENGTH];
+		mDigest.doFinal(result, 0);
+		super.reset();
+		return new Ripemd160(result);
+	}
+}
@@ -3,6 +3,7 @@ package com.metallicus.protonsdk.eosio.commander.digest;
 import com.google.common.base.Preconditions;
 import com.metallicus.protonsdk.eosio.commander.HexUtils;
 
+import java.nio.ByteBuffer;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.Arrays;
@@ -50,6 +51,13 @@ public class Sha256 {
 		return new Sha256(digest.digest());
 	}
 
+	public static Sha256 from(ByteBuffer data) {
+		MessageDigest digest;
+		digest = getSha256Digest();
+		digest.update(data);
+		return new Sha256(digest.digest());
+	}
+
 	public static Sha256 from(byte[] data1, byte[] data2) {
 		MessageDigest digest;
 		digest = getSha256Digest();
@@ -0,0 +1,51 @@
+package com.metallicus.protonsdk.eosio.commander.digest;
+
+import com.metallicus.protonsdk.eosio.commander.model.types.EosType;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+
+/**
+ * Packs EOS types directly into a SHA-256 state, e.g. a transaction being signed.
+ */
+public class Sha256Writer extends DigestWriter {
+	private final MessageDigest mDigest = Sha256.getSha256Digest();
+
+	public Sha256Writer() {
+		this(null);
+	}
+
+	public Sha256Writer(EosType.Writer tee) {
+		super(tee);
+	}
+
+	@Override
+	protected void update(byte b) {
+		mDigest.update(b);
+	}
+
+	@Override
+	protected void update(byte[] data, int offset, int length) {
+		mDigest.update(data, offset, length);
+	}
+
+	@Override
+	protected void update(ByteBuffer data) {
+		mDigest.update(data);
+	}
+
+	@Override
+	public void reset() {
+		super.reset();
+		mDigest.reset();
+	}
+
+	/**
+	 * @return the hash of everything written; the writer starts over afterwards
+	 */
+	public Sha256 digest() {
+		Sha256 result = new Sha256(mDigest.digest());
+		super.reset();
+		return result;
+	}
+}
@@ -44,6 +44,8 @@ public class CurveParam {
 
 	private final BigInteger HALF_CURVE_ORDER;
 
+	private volatile EcFixedBaseTable gTable;
+
 	public CurveParam(int curveParamType, String pInHex, String aInHex, String bInHex, String GxInHex, String GyInHex, String nInHex) {
 		this.curveParamType = curveParamType;
 		BigInteger p = new BigInteger(pInHex, 16); //p
@@ -71,6 +73,23 @@ public class CurveParam {
 		return this.G;
 	}
 
+	/**
+	 * multiples of G, built on first use and shared by every user of this curve
+	 */
+	EcFixedBaseTable gTable() {
+		EcFixedBaseTable table = gTable;
+		if (table == null) {
+			synchronized (this) {
+				table = gTable;
+				if (table == null) {
+					table = new EcFixedBaseTable(G, n);
+					gTable = table;
+				}
+			}
+		}
+		return table;
+	}
+
 	public BigInteger n() {
 		return this.n;
 	}
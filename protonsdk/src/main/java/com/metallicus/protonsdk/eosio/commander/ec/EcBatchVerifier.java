@@ -0,0 +1,197 @@
+/*
+ * Copyright (c) 2021 Proton Chain LLC, Delaware
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.metallicus.protonsdk.eosio.commander.ec;
+
+import java.math.BigInteger;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Verifies many ECDSA signatures at once.
+ * <p>
+ * Signatures carrying a recovery id give us their nonce point R, and a valid signature satisfies
+ * u1 * G + u2 * Q - R = O. A chunk of signatures is checked with one random linear combination of those
+ * equations, which is a single multi-scalar multiplication (see {@link EcTools#sumOfMultipliesJacobian}).
+ * Only if a chunk fails is each of its signatures verified on its own with {@link EcDsa#verify}.
+ * Chunks are processed in parallel on a {@link ForkJoinPool}.
+ */
+public class EcBatchVerifier {
+
+	private static final int CHUNK_SIZE = 32;
+
+	// bit length of the random weights; a forged batch passes with probability about 2^-128
+	private static final int WEIGHT_BITS = 128;
+
+	public static class Item {
+		public final byte[] digest;
+		public final EcSignature signature;
+		public final EosPublicKey publicKey;
+
+		public Item(byte[] digest, EcSignature signature, EosPublicKey publicKey) {
+			this.digest = digest;
+			this.signature = signature;
+			this.publicKey = publicKey;
+		}
+	}
+
+	/**
+	 * @return for every item, whether its signature is valid
+	 */
+	public static boolean[] verify(List<Item> items) {
+		return verify(items, ForkJoinPool.commonPool());
+	}
+
+	public static boolean[] verify(List<Item> items, ForkJoinPool pool) {
+		boolean[] results = new boolean[items.size()];
+		if (!items.isEmpty()) {
+			pool.invoke(new VerifyTask(items, 0, items.size(), results));
+		}
+		return results;
+	}
+
+	public static boolean verifyAll(List<Item> items) {
+		for (boolean valid : verify(items)) {
+			if (!valid) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static class VerifyTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final List<Item> items;
+		private final int from;
+		private final int to;
+		private final boolean[] results;
+
+		VerifyTask(List<Item> items, int from, int to, boolean[] results) {
+			this.items = items;
+			this.from = from;
+			this.to = to;
+			this.results = results;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from <= CHUNK_SIZE) {
+				verifyChunk(items, from, to, results);
+				return;
+			}
+
+			int mid = (from + to) >>> 1;
+			invokeAll(new VerifyTask(items, from, mid, results), new VerifyTask(items, mid, to, results));
+		}
+	}
+
+	private static void verifyChunk(List<Item> items, int from, int to, boolean[] results) {
+		List<Integer> k1 = new ArrayList<>();
+		List<Integer> r1 = new ArrayList<>();
+
+		for (int i = from; i < to; i++) {
+			Item item = items.get(i);
+			if (item.signature.recId < 0 || item.signature.recId > 3) {
+				results[i] = EcDsa.verify(item.digest, item.signature, item.publicKey);
+			} else if (item.signature.curveParam.isType(CurveParam.SECP256_K1)) {
+				k1.add(i);
+			} else {
+				r1.add(i);
+			}
+		}
+
+		verifyGroup(items, k1, results);
+		verifyGroup(items, r1, results);
+	}
+
+	private static void verifyGroup(List<Item> items, List<Integer> indexes, boolean[] results) {
+		if (indexes.isEmpty()) {
+			return;
+		}
+
+		if (indexes.size() == 1 || !batchEquationHolds(items, indexes)) {
+			for (int i : indexes) {
+				Item item = items.get(i);
+				results[i] = EcDsa.verify(item.digest, item.signature, item.publicKey);
+			}
+			return;
+		}
+
+		for (int i : indexes) {
+			results[i] = true;
+		}
+	}
+
+	/**
+	 * sum(a_i * u1_i) * G + sum(a_i * u2_i * Q_i) - sum(a_i * R_i) == O for random a_i
+	 */
+	private static boolean batchEquationHolds(List<Item> items, List<Integer> indexes) {
+		CurveParam curveParam = items.get(indexes.get(0)).signature.curveParam;
+		BigInteger n = curveParam.n();
+		SecureRandom random = EosPrivateKey.getSecureRandom();
+
+		int count = indexes.size();
+		EcPoint[] points = new EcPoint[count * 2];
+		BigInteger[] scalars = new BigInteger[count * 2];
+		BigInteger gScalar = BigInteger.ZERO;
+
+		try {
+			for (int j = 0; j < count; j++) {
+				Item item = items.get(indexes.get(j));
+				EcSignature sig = item.signature;
+
+				if (item.publicKey.isCurveParamK1() != curveParam.isType(CurveParam.SECP256_K1)) {
+					return false;
+				}
+				if (sig.r.signum() <= 0 || sig.r.compareTo(n) >= 0 || sig.s.signum() <= 0 || sig.s.compareTo(n) >= 0) {
+					return false;
+				}
+
+				BigInteger x = sig.r.add(BigInteger.valueOf(sig.recId >> 1).multiply(n));
+				if (x.compareTo(curveParam.getCurve().getQ()) >= 0) {
+					return false;
+				}
+				EcPoint R = EcTools.decompressKey(curveParam, x, (sig.recId & 1) == 1);
+				EcPoint Q = item.publicKey.getPoint();
+
+				BigInteger a = new BigInteger(WEIGHT_BITS, random).add(BigInteger.ONE);
+				BigInteger aw = a.multiply(sig.s.modInverse(n)).mod(n);
+				BigInteger e = new BigInteger(1, item.digest);
+
+				gScalar = gScalar.add(aw.multiply(e)).mod(n);
+
+				points[2 * j] = Q;
+				scalars[2 * j] = aw.multiply(sig.r).mod(n);
+				points[2 * j + 1] = R;
+				scalars[2 * j + 1] = a.negate();
+			}
+		} catch (RuntimeException e) {
+			// undecodable R or Q
+			return false;
+		}
+
+		return curveParam.gTable().multiply(gScalar).add(EcTools.sumOfMultipliesJacobian(points, scalars)).isInfinity();
+	}
+}
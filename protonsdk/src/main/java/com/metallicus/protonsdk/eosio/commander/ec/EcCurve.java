@@ -33,11 +33,17 @@ public class EcCurve {
 	private EcFieldElement _b;
 	private BigInteger _q;
 	private EcPoint _infinity;
+	private boolean _secp256k1;
+	private boolean _aIsZero;
+	private boolean _aIsMinusThree;
 
 	public EcCurve(BigInteger q, BigInteger a, BigInteger b) {
 		this._q = q;
+		this._secp256k1 = Secp256k1Field.P.equals(q);
 		this._a = fromBigInteger(a);
 		this._b = fromBigInteger(b);
+		this._aIsZero = a.signum() == 0;
+		this._aIsMinusThree = a.add(BigInteger.valueOf(3)).equals(q);
 		this._infinity = new EcPoint(this, null, null);
 	}
 
@@ -61,7 +67,22 @@ public class EcCurve {
 		return _q.bitLength();
 	}
 
+	boolean isSecp256k1() {
+		return _secp256k1;
+	}
+
+	boolean isAZero() {
+		return _aIsZero;
+	}
+
+	boolean isAMinusThree() {
+		return _aIsMinusThree;
+	}
+
 	public EcFieldElement fromBigInteger(BigInteger x) {
+		if (_secp256k1) {
+			return new Secp256k1FieldElement(x);
+		}
 		return new EcFieldElement(this._q, x);
 	}
 
@@ -78,7 +99,7 @@ public class EcCurve {
 				int ytilde = encodedPoint[0] & 1;
 				byte[] i = new byte[encodedPoint.length - 1];
 				System.arraycopy(encodedPoint, 1, i, 0, i.length);
-				EcFieldElement x = new EcFieldElement(this._q, new BigInteger(1, i));
+				EcFieldElement x = fromBigInteger(new BigInteger(1, i));
 				EcFieldElement alpha = x.multiply(x.square().add(_a)).add(_b);
 				EcFieldElement beta = alpha.sqrt();
 				if (beta == null) {
@@ -88,7 +109,7 @@ public class EcCurve {
 				if (bit0 == ytilde) {
 					p = new EcPoint(this, x, beta, true);
 				} else {
-					p = new EcPoint(this, x, new EcFieldElement(this._q, _q.subtract(beta.toBigInteger())), true);
+					p = new EcPoint(this, x, beta.negate(), true);
 				}
 				break;
 			case 0x04:
@@ -98,8 +119,7 @@ public class EcCurve {
 				byte[] yEnc = new byte[(encodedPoint.length - 1) / 2];
 				System.arraycopy(encodedPoint, 1, xEnc, 0, xEnc.length);
 				System.arraycopy(encodedPoint, xEnc.length + 1, yEnc, 0, yEnc.length);
-				p = new EcPoint(this, new EcFieldElement(this._q, new BigInteger(1, xEnc)), new EcFieldElement(this._q,
-					new BigInteger(1, yEnc)));
+				p = new EcPoint(this, fromBigInteger(new BigInteger(1, xEnc)), fromBigInteger(new BigInteger(1, yEnc)));
 				break;
 			default:
 				throw new RuntimeException("Invalid encoding 0x" + Integer.toString(encodedPoint[0], 16));
@@ -25,9 +25,7 @@
 package com.metallicus.protonsdk.eosio.commander.ec;
 
 import com.google.common.base.Preconditions;
-import com.metallicus.protonsdk.eosio.commander.Hmac;
 import com.metallicus.protonsdk.eosio.commander.digest.Sha256;
-import com.metallicus.protonsdk.eosio.commander.model.types.EosByteWriter;
 
 import java.math.BigInteger;
 import java.util.Arrays;
@@ -45,6 +43,9 @@ public class EcDsa {
 		BigInteger r;
 		BigInteger s;
 
+		// bit 0: parity of the y coordinate of k * G, bit 1: its x coordinate was >= n
+		int recId;
+
 		SigChecker(byte[] hash, BigInteger privKey) {
 			this.e = new BigInteger(1, hash);
 			this.privKey = privKey;
@@ -52,12 +53,15 @@ public class EcDsa {
 
 		boolean checkSignature(CurveParam curveParam, BigInteger k) {
 
-			EcPoint Q = EcTools.multiply(curveParam.G(), k);// Secp256k1Param.G, k);
+			EcPoint Q = EcTools.multiplyG(curveParam, k);// Secp256k1Param.G, k);
 			if (Q.isInfinity()) return false;
 
-			r = Q.getX().toBigInteger().mod(curveParam.n());// Secp256k1Param.n );
+			BigInteger x = Q.getX().toBigInteger();
+			r = x.mod(curveParam.n());// Secp256k1Param.n );
 			if (r.signum() == 0) return false;
 
+			recId = (Q.getY().toBigInteger().testBit(0) ? 1 : 0) | (x.equals(r) ? 0 : 2);
+
 
 			s = k.modInverse(curveParam.n())// Secp256k1Param.n)
 				.multiply(e.add(privKey.multiply(r)))
@@ -74,61 +78,27 @@ public class EcDsa {
 	}
 
 
-	private static BigInteger deterministicGenerateK(CurveParam curveParam, byte[] hash, BigInteger d, SigChecker checker, int nonce) {
-		if (nonce > 0) {
-			hash = Sha256.from(hash, BigInteger.valueOf(nonce).toByteArray()).getBytes();
+	private static final ThreadLocal<HmacDrbg> DRBG = new ThreadLocal<HmacDrbg>() {
+		@Override
+		protected HmacDrbg initialValue() {
+			return new HmacDrbg();
 		}
+	};
 
-		byte[] dBytes = d.toByteArray();
-
-		// Step b
-		byte[] v = new byte[32];
-		Arrays.fill(v, (byte) 0x01);
-
-		// Step c
-		byte[] k = new byte[32];
-		Arrays.fill(k, (byte) 0x00);
-
-		// Step d
-		EosByteWriter bwD = new EosByteWriter(32 + 1 + 32 + 32);
-		bwD.putBytes(v);
-		bwD.put((byte) 0x00);
-		bwD.putBytes(dBytes);
-		bwD.putBytes(hash);
-		k = Hmac.hmacSha256(k, bwD.toBytes());
-
-		// Step e
-		v = Hmac.hmacSha256(k, v);
-
-		// Step f
-		EosByteWriter bwF = new EosByteWriter(32 + 1 + 32 + 32);
-		bwF.putBytes(v);
-		bwF.put((byte) 0x01);
-		bwF.putBytes(dBytes);
-		bwF.putBytes(hash);
-		k = Hmac.hmacSha256(k, bwF.toBytes());
-
-		// Step g
-		v = Hmac.hmacSha256(k, v);
+	private static BigInteger deterministicGenerateK(CurveParam curveParam, HmacDrbg drbg, byte[] hash, byte[] dBytes, SigChecker checker, int nonce) {
+		// Steps b - g
+		drbg.init(hash, dBytes, nonce);
 
 		// Step H2b
-		v = Hmac.hmacSha256(k, v);
-
-		BigInteger t = new BigInteger(1, v);
+		BigInteger t = new BigInteger(1, drbg.generate());
 
 		// Step H3, repeat until T is within the interval [1, Secp256k1Param.n - 1]
 		while ((t.signum() <= 0) || (t.compareTo(curveParam.n()) >= 0) || !checker.checkSignature(curveParam, t)) {
-			EosByteWriter bwH = new EosByteWriter(32 + 1);
-			bwH.putBytes(v);
-			bwH.put((byte) 0x00);
-			k = Hmac.hmacSha256(k, bwH.toBytes());
-			v = Hmac.hmacSha256(k, v);
+			drbg.reseed();
 
 			// Step H1/H2a, again, ignored as tlen === qlen (256 bit)
 			// Step H2b again
-			v = Hmac.hmacSha256(k, v);
-
-			t = new BigInteger(v);
+			t = new BigInteger(drbg.generate());
 		}
 		return t;
 	}
@@ -139,38 +109,31 @@ public class EcDsa {
 
 		CurveParam curveParam = key.getCurveParam();
 
-		int nonce = 0;
-		while (true) {
-			deterministicGenerateK(curveParam, hash.getBytes(), privAsBI, checker, nonce++);
+		byte[] hashBytes = hash.getBytes();
+		byte[] dBytes = privAsBI.toByteArray();
+		HmacDrbg drbg = DRBG.get();
 
-			if (checker.s.compareTo(curveParam.halfCurveOrder()) > 0) {//  Secp256k1Param.HALF_CURVE_ORDER) > 0) {
-				checker.s = curveParam.n().subtract(checker.s);//   Secp256k1Param.n.subtract(checker.s);
-			}
-
-			if (checker.isRSEachLength(32)) {
-				break;
-			}
-		}
-
-		EcSignature signature = new EcSignature(checker.r, checker.s, curveParam);
+		try {
+			int nonce = 0;
+			while (true) {
+				deterministicGenerateK(curveParam, drbg, hashBytes, dBytes, checker, nonce++);
 
-		byte[] data = hash.getBytes();
+				if (checker.s.compareTo(curveParam.halfCurveOrder()) > 0) {//  Secp256k1Param.HALF_CURVE_ORDER) > 0) {
+					checker.s = curveParam.n().subtract(checker.s);//   Secp256k1Param.n.subtract(checker.s);
+					// (r, -s) recovers from -R, whose y coordinate has the opposite parity
+					checker.recId ^= 1;
+				}
 
-		EosPublicKey pubKey = key.getPublicKey();
-
-		for (int i = 0; i < 4; i++) {
-			EosPublicKey recovered = recoverPubKey(curveParam, data, signature, i);
-			if (pubKey.equals(recovered)) {
-				signature.setRecid(i);
-				break;
+				if (checker.isRSEachLength(32)) {
+					break;
+				}
 			}
+		} finally {
+			drbg.clear();
+			Arrays.fill(dBytes, (byte) 0);
 		}
 
-		if (signature.recId < 0) {
-			throw new IllegalStateException("could not find recid. Was this data signed with this key?");
-		}
-
-		return signature;
+		return new EcSignature(checker.r, checker.s, curveParam, checker.recId);
 	}
 
 	public static EosPublicKey recoverPubKey(byte[] messageSigned, EcSignature signature) {
@@ -217,8 +180,8 @@ public class EcDsa {
 		EcPoint R = EcTools.decompressKey(curveParam, x, (recId & 1) == 1);
 		// 1.4. If nR != point at infinity, then do another iteration of Step 1
 		// (callers responsibility).
-		if (!R.multiply(n).isInfinity())
-			return null;
+		// Both secp256k1 and secp256r1 have cofactor 1, so every point decodePoint() accepts has order n and
+		// this check, a full scalar multiplication, can never fail.
 		// 1.5. Compute e from M using Steps 2 and 3 of ECDSA signature
 		// verification.
 		BigInteger e = new BigInteger(1, messageSigned);
@@ -243,7 +206,7 @@ public class EcDsa {
 		BigInteger rInv = signature.r.modInverse(n);
 		BigInteger srInv = rInv.multiply(signature.s).mod(n);
 		BigInteger eInvrInv = rInv.multiply(eInv).mod(n);
-		EcPoint q = EcTools.sumOfTwoMultiplies(curveParam.G(), eInvrInv, R, srInv); //  Secp256k1Param.G, eInvrInv, R, srInv);
+		EcPoint q = EcTools.sumOfMultiplyG(curveParam, eInvrInv, R, srInv); //  Secp256k1Param.G, eInvrInv, R, srInv);
 
 
 		// We have to manually recompress the point as the compressed-ness gets
@@ -254,6 +217,42 @@ public class EcDsa {
 	}
 
 
+	/**
+	 * Standard ECDSA verification of sig over messageSigned against pubKey; the recovery id is not used.
+	 */
+	public static boolean verify(byte[] messageSigned, EcSignature sig, EosPublicKey pubKey) {
+		Preconditions.checkNotNull(messageSigned);
+
+		CurveParam curveParam = sig.curveParam;
+		if (pubKey.isCurveParamK1() != curveParam.isType(CurveParam.SECP256_K1)) {
+			return false;
+		}
+
+		BigInteger n = curveParam.n();
+		if (sig.r.signum() <= 0 || sig.r.compareTo(n) >= 0 || sig.s.signum() <= 0 || sig.s.compareTo(n) >= 0) {
+			return false;
+		}
+
+		EcPoint Q;
+		try {
+			Q = pubKey.getPoint();
+		} catch (RuntimeException e) {
+			return false;
+		}
+
+		BigInteger e = new BigInteger(1, messageSigned);
+		BigInteger w = sig.s.modInverse(n);
+		BigInteger u1 = e.multiply(w).mod(n);
+		BigInteger u2 = sig.r.multiply(w).mod(n);
+
+		EcPoint X = EcTools.sumOfMultiplyG(curveParam, u1, Q, u2);
+		if (X.isInfinity()) {
+			return false;
+		}
+
+		return X.getX().toBigInteger().mod(n).equals(sig.r);
+	}
+
 	private static boolean isSignerOf(CurveParam curveParam, byte[] messageSigned, int recId, EcSignature sig, byte[] pubKeyBytes) {
 		Preconditions.checkArgument(recId >= 0, "recId must be positive");
 		Preconditions.checkArgument(sig.r.compareTo(BigInteger.ZERO) >= 0, "r must be positive");
@@ -293,8 +292,8 @@ public class EcDsa {
 		EcPoint R = EcTools.decompressKey(curveParam, x, (recId & 1) == 1);
 		// 1.4. If nR != point at infinity, then do another iteration of Step 1
 		// (callers responsibility).
-		if (!R.multiply(n).isInfinity())
-			return false;
+		// Both secp256k1 and secp256r1 have cofactor 1, so every point decodePoint() accepts has order n and
+		// this check, a full scalar multiplication, can never fail.
 		// 1.5. Compute e from M using Steps 2 and 3 of ECDSA signature
 		// verification.
 		BigInteger e = new BigInteger(1, messageSigned);
@@ -319,7 +318,7 @@ public class EcDsa {
 		BigInteger rInv = sig.r.modInverse(n);
 		BigInteger srInv = rInv.multiply(sig.s).mod(n);
 		BigInteger eInvrInv = rInv.multiply(eInv).mod(n);
-		EcPoint q = EcTools.sumOfTwoMultiplies(curveParam.G(), eInvrInv, R, srInv); //Secp256k1Param.G, eInvrInv, R, srInv);
+		EcPoint q = EcTools.sumOfMultiplyG(curveParam, eInvrInv, R, srInv); //Secp256k1Param.G, eInvrInv, R, srInv);
 
 
 		// We have to manually recompress the point as the compressed-ness gets
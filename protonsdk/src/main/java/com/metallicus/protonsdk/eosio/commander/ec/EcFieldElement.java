@@ -42,10 +42,21 @@ public class EcFieldElement {
 		this._q = q;
 	}
 
+	/**
+	 * for subclasses that keep their own representation of x and override toBigInteger()
+	 */
+	protected EcFieldElement(BigInteger q) {
+		this._q = q;
+	}
+
 	public BigInteger toBigInteger() {
 		return _x;
 	}
 
+	public boolean isZero() {
+		return _x.signum() == 0;
+	}
+
 	public int getFieldSize() {
 		return _q.bitLength();
 	}
@@ -194,10 +205,10 @@ public class EcFieldElement {
 		}
 
 		EcFieldElement o = (EcFieldElement) other;
-		return _q.equals(o._q) && _x.equals(o._x);
+		return _q.equals(o._q) && toBigInteger().equals(o.toBigInteger());
 	}
 
 	public int hashCode() {
-		return _q.hashCode() ^ _x.hashCode();
+		return _q.hashCode() ^ toBigInteger().hashCode();
 	}
 }
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2021 Proton Chain LLC, Delaware
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.metallicus.protonsdk.eosio.commander.ec;
+
+import java.math.BigInteger;
+
+/**
+ * Precomputed multiples of a fixed base point, for multiplication without any doublings.
+ * <p>
+ * The scalar is split into 4-bit windows; window i holds j * 16^i * P for j = 1..15 in affine form,
+ * so k * P is the sum of at most one table entry per window.
+ */
+final class EcFixedBaseTable {
+
+	private static final int WINDOW_BITS = 4;
+	private static final int WINDOW_SIZE = (1 << WINDOW_BITS) - 1;
+
+	private final EcCurve curve;
+	private final BigInteger order;
+	private final EcPoint[][] table;
+
+	EcFixedBaseTable(EcPoint base, BigInteger order) {
+		this.curve = base.getCurve();
+		this.order = order;
+
+		int windows = (order.bitLength() + WINDOW_BITS - 1) / WINDOW_BITS;
+
+		EcJacobianPoint[] multiples = new EcJacobianPoint[windows * WINDOW_SIZE];
+		EcJacobianPoint windowBase = EcJacobianPoint.fromAffine(base);
+		for (int i = 0; i < windows; i++) {
+			EcJacobianPoint p = windowBase;
+			for (int j = 0; j < WINDOW_SIZE; j++) {
+				multiples[i * WINDOW_SIZE + j] = p;
+				p = (j == 0) ? p.twice() : p.add(windowBase);
+			}
+			// p is now 16 * windowBase
+			windowBase = p;
+		}
+
+		EcPoint[] affine = EcJacobianPoint.toAffine(multiples);
+		table = new EcPoint[windows][];
+		for (int i = 0; i < windows; i++) {
+			table[i] = new EcPoint[WINDOW_SIZE];
+			System.arraycopy(affine, i * WINDOW_SIZE, table[i], 0, WINDOW_SIZE);
+		}
+	}
+
+	EcJacobianPoint multiply(BigInteger k) {
+		if (k.signum() < 0 || k.compareTo(order) >= 0) {
+			k = k.mod(order);
+		}
+
+		EcJacobianPoint R = EcJacobianPoint.infinity(curve);
+
+		byte[] bytes = k.toByteArray();
+		int window = 0;
+		for (int i = bytes.length - 1; i >= 0 && window < table.length; i--) {
+			int b = bytes[i] & 0xFF;
+
+			int lo = b & 0x0F;
+			if (lo != 0) {
+				R = R.add(table[window][lo - 1]);
+			}
+			window++;
+
+			int hi = b >>> 4;
+			if (hi != 0 && window < table.length) {
+				R = R.add(table[window][hi - 1]);
+			}
+			window++;
+		}
+
+		return R;
+	}
+}
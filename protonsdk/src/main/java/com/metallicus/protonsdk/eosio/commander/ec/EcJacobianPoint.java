@@ -0,0 +1,224 @@
+/*
+ * Copyright (c) 2021 Proton Chain LLC, Delaware
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.metallicus.protonsdk.eosio.commander.ec;
+
+import java.math.BigInteger;
+
+/**
+ * A point in Jacobian coordinates (X, Y, Z), representing the affine point (X / Z^2, Y / Z^3).
+ * <p>
+ * Group operations need no field inversion; only {@link #toAffine()} pays for one. Used internally by
+ * {@link EcTools} for scalar multiplication. Z == 0 is the point at infinity.
+ */
+final class EcJacobianPoint {
+
+	private final EcCurve _curve;
+	private final EcFieldElement _x;
+	private final EcFieldElement _y;
+	private final EcFieldElement _z;
+
+	private EcJacobianPoint(EcCurve curve, EcFieldElement x, EcFieldElement y, EcFieldElement z) {
+		this._curve = curve;
+		this._x = x;
+		this._y = y;
+		this._z = z;
+	}
+
+	static EcJacobianPoint infinity(EcCurve curve) {
+		return new EcJacobianPoint(curve, null, null, null);
+	}
+
+	static EcJacobianPoint fromAffine(EcPoint p) {
+		if (p.isInfinity()) {
+			return infinity(p.getCurve());
+		}
+		return new EcJacobianPoint(p.getCurve(), p.getX(), p.getY(), p.getCurve().fromBigInteger(BigInteger.ONE));
+	}
+
+	boolean isInfinity() {
+		return _z == null || _z.isZero();
+	}
+
+	EcPoint toAffine() {
+		if (isInfinity()) {
+			return _curve.getInfinity();
+		}
+
+		EcFieldElement zInv = _z.invert();
+		EcFieldElement zInv2 = zInv.square();
+		return new EcPoint(_curve, _x.multiply(zInv2), _y.multiply(zInv2.multiply(zInv)));
+	}
+
+	/**
+	 * Convert many points to affine form with a single field inversion (Montgomery's trick).
+	 */
+	static EcPoint[] toAffine(EcJacobianPoint[] points) {
+		int count = points.length;
+		EcPoint[] result = new EcPoint[count];
+		EcFieldElement[] acc = new EcFieldElement[count];
+
+		EcFieldElement product = null;
+		for (int i = 0; i < count; i++) {
+			if (!points[i].isInfinity()) {
+				product = (product == null) ? points[i]._z : product.multiply(points[i]._z);
+			}
+			acc[i] = product;
+		}
+
+		if (product == null) {
+			for (int i = 0; i < count; i++) {
+				result[i] = points[i]._curve.getInfinity();
+			}
+			return result;
+		}
+
+		EcFieldElement inv = product.invert();
+		for (int i = count - 1; i >= 0; i--) {
+			EcJacobianPoint p = points[i];
+			if (p.isInfinity()) {
+				result[i] = p._curve.getInfinity();
+				continue;
+			}
+
+			// acc[i - 1] is the product of all earlier Z values, or null if there are none
+			EcFieldElement zInv = inv;
+			EcFieldElement prev = (i > 0) ? acc[i - 1] : null;
+			if (prev != null) {
+				zInv = inv.multiply(prev);
+				inv = inv.multiply(p._z);
+			}
+
+			EcFieldElement zInv2 = zInv.square();
+			result[i] = new EcPoint(p._curve, p._x.multiply(zInv2), p._y.multiply(zInv2.multiply(zInv)));
+		}
+		return result;
+	}
+
+	EcJacobianPoint negate() {
+		if (isInfinity()) {
+			return this;
+		}
+		return new EcJacobianPoint(_curve, _x, _y.negate(), _z);
+	}
+
+	// S = 4XY^2, M = 3X^2 + aZ^4, X3 = M^2 - 2S, Y3 = M(S - X3) - 8Y^4, Z3 = 2YZ
+	EcJacobianPoint twice() {
+		if (isInfinity()) {
+			return this;
+		}
+
+		if (_y.isZero()) {
+			return infinity(_curve);
+		}
+
+		EcFieldElement yy = _y.square();
+		EcFieldElement yyyy = yy.square();
+		EcFieldElement s = twice(twice(_x.multiply(yy)));
+
+		EcFieldElement m;
+		if (_curve.isAZero()) {
+			EcFieldElement xx = _x.square();
+			m = xx.add(twice(xx));
+		} else if (_curve.isAMinusThree()) {
+			EcFieldElement zz = _z.square();
+			EcFieldElement t = _x.subtract(zz).multiply(_x.add(zz));
+			m = t.add(twice(t));
+		} else {
+			EcFieldElement xx = _x.square();
+			EcFieldElement zz = _z.square();
+			m = xx.add(twice(xx)).add(_curve.getA().multiply(zz.square()));
+		}
+
+		EcFieldElement x3 = m.square().subtract(twice(s));
+		EcFieldElement y3 = m.multiply(s.subtract(x3)).subtract(twice(twice(twice(yyyy))));
+		EcFieldElement z3 = twice(_y.multiply(_z));
+
+		return new EcJacobianPoint(_curve, x3, y3, z3);
+	}
+
+	// add-1998-cmo-2
+	EcJacobianPoint add(EcJacobianPoint b) {
+		if (isInfinity()) {
+			return b;
+		}
+
+		if (b.isInfinity()) {
+			return this;
+		}
+
+		EcFieldElement z1z1 = _z.square();
+		EcFieldElement z2z2 = b._z.square();
+		EcFieldElement u1 = _x.multiply(z2z2);
+		EcFieldElement u2 = b._x.multiply(z1z1);
+		EcFieldElement s1 = _y.multiply(b._z).multiply(z2z2);
+		EcFieldElement s2 = b._y.multiply(_z).multiply(z1z1);
+
+		return addInternal(u1, u2, s1, s2, _z.multiply(b._z));
+	}
+
+	// mixed addition: b is affine, i.e. Z2 = 1
+	EcJacobianPoint add(EcPoint b) {
+		if (b.isInfinity()) {
+			return this;
+		}
+
+		if (isInfinity()) {
+			return fromAffine(b);
+		}
+
+		EcFieldElement z1z1 = _z.square();
+		EcFieldElement u2 = b.getX().multiply(z1z1);
+		EcFieldElement s2 = b.getY().multiply(_z).multiply(z1z1);
+
+		return addInternal(_x, u2, _y, s2, _z);
+	}
+
+	private EcJacobianPoint addInternal(EcFieldElement u1, EcFieldElement u2, EcFieldElement s1, EcFieldElement s2,
+										EcFieldElement z1z2) {
+		EcFieldElement h = u2.subtract(u1);
+		EcFieldElement r = s2.subtract(s1);
+
+		if (h.isZero()) {
+			if (r.isZero()) {
+				// this == b
+				return twice();
+			}
+
+			// this == -b
+			return infinity(_curve);
+		}
+
+		EcFieldElement hh = h.square();
+		EcFieldElement hhh = hh.multiply(h);
+		EcFieldElement v = u1.multiply(hh);
+
+		EcFieldElement x3 = r.square().subtract(hhh).subtract(twice(v));
+		EcFieldElement y3 = r.multiply(v.subtract(x3)).subtract(s1.multiply(hhh));
+		EcFieldElement z3 = z1z2.multiply(h);
+
+		return new EcJacobianPoint(_curve, x3, y3, z3);
+	}
+
+	private static EcFieldElement twice(EcFieldElement e) {
+		return e.add(e);
+	}
+}
@@ -89,47 +89,93 @@ public class EcTools {
 		return bytes;
 	}
 
+	// window width for variable-base wNAF multiplication: 2^(w-2) precomputed odd multiples per point
+	private static final int WNAF_WIDTH = 5;
+
 	/**
 	 * Multiply a point with a big integer
 	 */
 	public static EcPoint multiply(EcPoint p, BigInteger k) {
-		BigInteger e = k;
-		BigInteger h = e.multiply(BigInteger.valueOf(3));
-
-		EcPoint neg = p.negate();
-		EcPoint R = p;
+		return multiplyJacobian(p, k).toAffine();
+	}
 
-		for (int i = h.bitLength() - 2; i > 0; --i) {
-			R = R.twice();
+	static EcJacobianPoint multiplyJacobian(EcPoint p, BigInteger k) {
+		return sumOfMultipliesJacobian(new EcPoint[]{p}, new BigInteger[]{k});
+	}
 
-			boolean hBit = h.testBit(i);
-			boolean eBit = e.testBit(i);
+	public static EcPoint sumOfTwoMultiplies(EcPoint P, BigInteger k, EcPoint Q, BigInteger l) {
+		return sumOfMultipliesJacobian(new EcPoint[]{P, Q}, new BigInteger[]{k, l}).toAffine();
+	}
 
-			if (hBit != eBit) {
-				R = R.add(hBit ? p : neg);
+	/**
+	 * sum of scalars[i] * points[i], computed with interleaved windowed NAFs (Strauss) so that all terms share
+	 * one chain of doublings. On secp256k1 every term is first split in two with the GLV endomorphism,
+	 * halving the length of that chain.
+	 */
+	static EcJacobianPoint sumOfMultipliesJacobian(EcPoint[] points, BigInteger[] scalars) {
+		EcCurve curve = points[0].getCurve();
+		boolean glv = curve.isSecp256k1();
+
+		int count = glv ? points.length * 2 : points.length;
+		EcPoint[] bases = new EcPoint[count];
+		BigInteger[] ks = new BigInteger[count];
+		for (int i = 0; i < points.length; i++) {
+			if (glv) {
+				BigInteger[] split = Secp256k1Endomorphism.decompose(scalars[i].mod(Secp256k1Endomorphism.N));
+				bases[2 * i] = points[i];
+				ks[2 * i] = split[0];
+				bases[2 * i + 1] = Secp256k1Endomorphism.map(points[i]);
+				ks[2 * i + 1] = split[1];
+			} else {
+				bases[i] = points[i];
+				ks[i] = scalars[i];
 			}
 		}
 
-		return R;
-	}
+		int tableSize = 1 << (WNAF_WIDTH - 2);
+		byte[][] wnafs = new byte[count][];
+		EcJacobianPoint[] multiples = new EcJacobianPoint[count * tableSize];
+		int maxLength = 0;
+		for (int i = 0; i < count; i++) {
+			EcPoint base = bases[i];
+			BigInteger k = ks[i];
+			if (base.isInfinity()) {
+				k = BigInteger.ZERO;
+			} else if (k.signum() < 0) {
+				base = base.negate();
+				k = k.negate();
+			}
 
-	public static EcPoint sumOfTwoMultiplies(EcPoint P, BigInteger k, EcPoint Q, BigInteger l) {
-		int m = Math.max(k.bitLength(), l.bitLength());
-		EcPoint Z = P.add(Q);
-		EcPoint R = P.getCurve().getInfinity();
+			wnafs[i] = windowNaf(k, WNAF_WIDTH);
+			maxLength = Math.max(maxLength, wnafs[i].length);
+
+			// P, 3P, 5P, ...
+			EcJacobianPoint p = EcJacobianPoint.fromAffine(base);
+			EcJacobianPoint twiceP = p.twice();
+			for (int j = 0; j < tableSize; j++) {
+				multiples[i * tableSize + j] = p;
+				p = p.add(twiceP);
+			}
+		}
+
+		EcPoint[] affine = EcJacobianPoint.toAffine(multiples);
+		EcPoint[] negated = new EcPoint[affine.length];
 
-		for (int i = m - 1; i >= 0; --i) {
+		EcJacobianPoint R = EcJacobianPoint.infinity(curve);
+		for (int bit = maxLength - 1; bit >= 0; --bit) {
 			R = R.twice();
 
-			if (k.testBit(i)) {
-				if (l.testBit(i)) {
-					R = R.add(Z);
-				} else {
-					R = R.add(P);
-				}
-			} else {
-				if (l.testBit(i)) {
-					R = R.add(Q);
+			for (int i = 0; i < count; i++) {
+				byte[] wnaf = wnafs[i];
+				int digit = (bit < wnaf.length) ? wnaf[bit] : 0;
+				if (digit > 0) {
+					R = R.add(affine[i * tableSize + (digit >>> 1)]);
+				} else if (digit < 0) {
+					int index = i * tableSize + ((-digit) >>> 1);
+					if (negated[index] == null) {
+						negated[index] = affine[index].negate();
+					}
+					R = R.add(negated[index]);
 				}
 			}
 		}
@@ -137,6 +183,62 @@ public class EcTools {
 		return R;
 	}
 
+	/**
+	 * width-w non-adjacent form of k &gt;= 0, least significant digit first. Every non-zero digit is odd,
+	 * below 2^(w-1) in absolute value, and followed by at least w - 1 zeros.
+	 */
+	static byte[] windowNaf(BigInteger k, int width) {
+		int length = k.bitLength() + 1;
+		byte[] naf = new byte[length];
+
+		int pow2 = 1 << width;
+		int mask = pow2 - 1;
+		int half = pow2 >>> 1;
+
+		int carry = 0;
+		int i = 0;
+		while (i < length) {
+			int bit = (k.testBit(i) ? 1 : 0) + carry;
+			if ((bit & 1) == 0) {
+				carry = bit >>> 1;
+				i++;
+				continue;
+			}
+
+			int window = carry;
+			for (int j = 0; j < width; j++) {
+				if (k.testBit(i + j)) {
+					window += 1 << j;
+				}
+			}
+
+			int digit = window & mask;
+			if (digit >= half) {
+				digit -= pow2;
+			}
+
+			naf[i] = (byte) digit;
+			carry = (digit < 0) ? 1 : (window >>> width);
+			i += width;
+		}
+
+		return naf;
+	}
+
+	/**
+	 * Multiply the generator of the curve with a big integer, using the precomputed table of multiples of G
+	 */
+	public static EcPoint multiplyG(CurveParam param, BigInteger k) {
+		return param.gTable().multiply(k).toAffine();
+	}
+
+	/**
+	 * k * G + l * Q, where the G half comes from the precomputed table of multiples of G
+	 */
+	public static EcPoint sumOfMultiplyG(CurveParam param, BigInteger k, EcPoint Q, BigInteger l) {
+		return param.gTable().multiply(k).add(multiplyJacobian(Q, l)).toAffine();
+	}
+
 	//ported from BitcoinJ
 	public static EcPoint decompressKey(CurveParam param, BigInteger x, boolean firstBit) {
 		int size = 1 + getByteLength(param.getCurve().getFieldSize());// Secp256k1Param.curve.getFieldSize());
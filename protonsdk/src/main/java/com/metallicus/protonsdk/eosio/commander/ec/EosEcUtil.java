@@ -27,7 +27,6 @@ import com.metallicus.protonsdk.eosio.commander.Base58;
 import com.metallicus.protonsdk.eosio.commander.BitUtils;
 import com.metallicus.protonsdk.eosio.commander.RefValue;
 import com.metallicus.protonsdk.eosio.commander.StringUtils;
-import com.metallicus.protonsdk.eosio.commander.digest.Ripemd160;
 import com.metallicus.protonsdk.eosio.commander.digest.Sha256;
 
 import java.util.Arrays;
@@ -108,27 +107,9 @@ public class EosEcUtil {
 //    }
 
 	public static byte[] getBytesIfMatchedRipemd160(String base58Data, String prefix, RefValue<Long> checksumRef) {
-		byte[] prefixBytes = StringUtils.isEmpty(prefix) ? new byte[0] : prefix.getBytes();
+		byte[] prefixBytes = StringUtils.isEmpty(prefix) ? null : prefix.getBytes();
 
-		byte[] data = Base58.decode(base58Data);
-
-		byte[] toHashData = new byte[data.length - 4 + prefixBytes.length];
-		System.arraycopy(data, 0, toHashData, 0, data.length - 4); // key data
-
-		System.arraycopy(prefixBytes, 0, toHashData, data.length - 4, prefixBytes.length);
-
-		Ripemd160 ripemd160 = Ripemd160.from(toHashData); //byte[] data, int startOffset, int length
-		long checksumByCal = BitUtils.uint32ToLong(ripemd160.bytes(), 0);
-		long checksumFromData = BitUtils.uint32ToLong(data, data.length - 4);
-		if (checksumByCal != checksumFromData) {
-			throw new IllegalArgumentException("Invalid format, checksum mismatch");
-		}
-
-		if (checksumRef != null) {
-			checksumRef.data = checksumFromData;
-		}
-
-		return Arrays.copyOfRange(data, 0, data.length - 4);
+		return Base58.decodeRipemd160Checked(base58Data, prefixBytes, checksumRef);
 	}
 
 	public static byte[] getBytesIfMatchedSha256(String base58Data, RefValue<Long> checksumRef) {
@@ -180,21 +161,6 @@ public class EosEcUtil {
 			}
 		}
 
-		byte[] toHashData = new byte[data.length + typePart.length()];
-		System.arraycopy(data, 0, toHashData, 0, data.length);
-		if (typePart.length() > 0) {
-			System.arraycopy(typePart.getBytes(), 0, toHashData, data.length, typePart.length());
-		}
-
-		byte[] dataToEncodeBase58 = new byte[data.length + 4];
-
-		Ripemd160 ripemd160 = Ripemd160.from(toHashData);
-		byte[] checksumBytes = ripemd160.bytes();
-
-		System.arraycopy(data, 0, dataToEncodeBase58, 0, data.length); // copy source data
-		System.arraycopy(checksumBytes, 0, dataToEncodeBase58, data.length, 4); // copy checksum data
-
-
 		String result;
 		if (StringUtils.isEmpty(typePart)) {
 			result = prefix;
@@ -202,7 +168,7 @@ public class EosEcUtil {
 			result = prefix + EOS_CRYPTO_STR_SPLITTER + typePart + EOS_CRYPTO_STR_SPLITTER;
 		}
 
-		return result + Base58.encode(dataToEncodeBase58);
+		return result + Base58.encodeWithRipemd160Checksum(data, typePart.getBytes());
 	}
 
 
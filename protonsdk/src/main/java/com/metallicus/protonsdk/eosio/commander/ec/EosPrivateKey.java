@@ -53,8 +53,12 @@ public class EosPrivateKey {
 	private static final String PREFIX = "PVT";
 
 	private final BigInteger mPrivateKey;
+	private final EcPoint mPublicKeyPoint;
 	private final EosPublicKey mPublicKey;
 
+	// 32 byte big-endian encoding of mPrivateKey, built on first use
+	private byte[] mKeyBytes;
+
 	private final CurveParam mCurveParam;
 
 	private static final SecureRandom mSecRandom;
@@ -94,7 +98,8 @@ public class EosPrivateKey {
 		mCurveParam = EcTools.getCurveParam(curveParamType);
 
 		mPrivateKey = getOrCreatePrivKeyBigInteger(keyBytes);
-		mPublicKey = new EosPublicKey(findPubKey(mPrivateKey), mCurveParam);
+		mPublicKeyPoint = findPubKey(mPrivateKey);
+		mPublicKey = new EosPublicKey(mPublicKeyPoint.getEncoded(), mCurveParam);
 	}
 
 	public EosPrivateKey(String base58Str) {
@@ -120,15 +125,12 @@ public class EosPrivateKey {
 		}
 
 		mPrivateKey = getOrCreatePrivKeyBigInteger(keyBytes);
-		mPublicKey = new EosPublicKey(findPubKey(mPrivateKey), mCurveParam);
+		mPublicKeyPoint = findPubKey(mPrivateKey);
+		mPublicKey = new EosPublicKey(mPublicKeyPoint.getEncoded(), mCurveParam);
 	}
 
 	public byte[] getSharedSecret(EosPublicKey eosPublicKey) {
-		byte[] r = getBytes();
-		byte[] publicKeyBytes = eosPublicKey.getBytes();
-		CurveParam param = EcTools.getCurveParam(CurveParam.SECP256_K1);
-		EcPoint publicKeyPoint = param.getCurve().decodePoint(publicKeyBytes);
-		EcPoint p = EcTools.multiply(publicKeyPoint, toUnsignedBigInteger(r));
+		EcPoint p = EcTools.multiply(eosPublicKey.getPoint(), mPrivateKey);
 		byte[] encodedx = p.getX().toBigInteger().toByteArray();
 		if (encodedx.length > 32) {
 			encodedx = Arrays.copyOfRange(encodedx, 1, encodedx.length);
@@ -137,36 +139,40 @@ public class EosPrivateKey {
 		return sha512.getBytes();
 	}
 
-	public void clear() {
-		mPrivateKey.multiply(BigInteger.ZERO);
+	/**
+	 * Wipes the cached byte encoding of this key. The BigInteger scalar is immutable and is left to the GC.
+	 */
+	public synchronized void clear() {
+		if (mKeyBytes != null) {
+			Arrays.fill(mKeyBytes, (byte) 0);
+			mKeyBytes = null;
+		}
 	}
 
-	private byte[] findPubKey(BigInteger bnum) {
-		EcPoint Q = EcTools.multiply(mCurveParam.G(), bnum);// Secp256k1Param.G, bnum);
+	private EcPoint findPubKey(BigInteger bnum) {
+		EcPoint Q = EcTools.multiplyG(mCurveParam, bnum);// Secp256k1Param.G, bnum);
 
 		// Q를 curve 상에서, compressed point 로 변환하자. ( 압축을 위해 )
 
-		Q = new EcPoint(Q.getCurve(), Q.getX(), Q.getY(), true);
-
-		return Q.getEncoded();
+		return new EcPoint(Q.getCurve(), Q.getX(), Q.getY(), true);
 	}
 
 	public EosPublicKey getPublicKey() {
 		return mPublicKey;
 	}
 
+	public EcPoint getPublicKeyPoint() {
+		return mPublicKeyPoint;
+	}
+
 	public String toWif() {
 		byte[] rawPrivKey = getBytes();
-		byte[] resultWIFBytes = new byte[1 + 32 + 4];
+		byte[] resultWIFBytes = new byte[1 + 32];
 
 		resultWIFBytes[0] = (byte) 0x80;
 		System.arraycopy(rawPrivKey, rawPrivKey.length > 32 ? 1 : 0, resultWIFBytes, 1, 32);
 
-		Sha256 hash = Sha256.doubleHash(resultWIFBytes, 0, 33);
-
-		System.arraycopy(hash.getBytes(), 0, resultWIFBytes, 33, 4);
-
-		return Base58.encode(resultWIFBytes);
+		return Base58.encodeWithChecksum(resultWIFBytes);
 	}
 
 	public CurveParam getCurveParam() {
@@ -191,16 +197,11 @@ public class EosPrivateKey {
 	}
 
 
-	public byte[] getBytes() {
-		byte[] result = new byte[32];
-		byte[] bytes = mPrivateKey.toByteArray();
-		if (bytes.length <= result.length) {
-			System.arraycopy(bytes, 0, result, result.length - bytes.length, bytes.length);
-		} else {
-			assert bytes.length == 33 && bytes[0] == 0;
-			System.arraycopy(bytes, 1, result, 0, bytes.length - 1);
+	public synchronized byte[] getBytes() {
+		if (mKeyBytes == null) {
+			mKeyBytes = getBytes(mPrivateKey);
 		}
-		return result;
+		return mKeyBytes.clone();
 	}
 
 	public byte[] getBytes(BigInteger value) {
@@ -225,14 +226,6 @@ public class EosPrivateKey {
 		return value;
 	}
 
-	private BigInteger toUnsignedBigInteger(byte[] value) {
-		if (((value[0]) & 0x80) != 0) {
-			return new BigInteger(1, value);
-		}
-
-		return new BigInteger(value);
-	}
-
 	private BigInteger getOrCreatePrivKeyBigInteger(byte[] value) {
 		if (null != value) {
 			if (((value[0]) & 0x80) != 0) {
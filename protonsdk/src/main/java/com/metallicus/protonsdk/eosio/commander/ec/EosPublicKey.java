@@ -28,6 +28,8 @@ import com.metallicus.protonsdk.eosio.commander.RefValue;
 import com.metallicus.protonsdk.eosio.commander.digest.Ripemd160;
 
 import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * Created by swapnibble on 2017-09-25.
@@ -39,10 +41,26 @@ public class EosPublicKey {
 
 	private static final int CHECK_BYTE_LEN = 4;
 
+	private static final int PARSE_CACHE_SIZE = 64;
+
+	// parsed keys by their string form, least recently used first
+	private static final Map<String, EosPublicKey> sParseCache = new LinkedHashMap<String, EosPublicKey>(16, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, EosPublicKey> eldest) {
+			return size() > PARSE_CACHE_SIZE;
+		}
+	};
+	private static long sParseCacheHits;
+	private static long sParseCacheMisses;
+
 	private final long mCheck;
 	private final CurveParam mCurveParam;
 	private final byte[] mData;
 
+	// computed on first use
+	private volatile String mEncoded;
+	private volatile EcPoint mPoint;
+
 	public static class IllegalEosPubkeyFormatException extends IllegalArgumentException {
 		public IllegalEosPubkeyFormatException(String pubkeyStr) {
 			super("invalid eos public key : " + pubkeyStr);
@@ -87,17 +105,78 @@ public class EosPublicKey {
 		mCheck = checksumRef.data;
 	}
 
+	/**
+	 * Same as {@link #EosPublicKey(String)}, but returns a shared instance for recently parsed strings.
+	 */
+	public static EosPublicKey fromString(String base58Str) {
+		synchronized (sParseCache) {
+			EosPublicKey cached = sParseCache.get(base58Str);
+			if (cached != null) {
+				sParseCacheHits++;
+				return cached;
+			}
+			sParseCacheMisses++;
+		}
+
+		EosPublicKey key = new EosPublicKey(base58Str);
+		synchronized (sParseCache) {
+			sParseCache.put(base58Str, key);
+		}
+		return key;
+	}
+
+	public static long getParseCacheHitCount() {
+		synchronized (sParseCache) {
+			return sParseCacheHits;
+		}
+	}
+
+	public static long getParseCacheMissCount() {
+		synchronized (sParseCache) {
+			return sParseCacheMisses;
+		}
+	}
+
+	public static void clearParseCache() {
+		synchronized (sParseCache) {
+			sParseCache.clear();
+			sParseCacheHits = 0;
+			sParseCacheMisses = 0;
+		}
+	}
+
 	public byte[] getBytes() {
 		return mData;
 	}
 
+	public CurveParam getCurveParam() {
+		return (mCurveParam != null) ? mCurveParam : EcTools.getCurveParam(CurveParam.SECP256_K1);
+	}
+
+	/**
+	 * @return the decompressed point, decoded on first use
+	 */
+	public EcPoint getPoint() {
+		EcPoint point = mPoint;
+		if (point == null) {
+			point = getCurveParam().getCurve().decodePoint(mData);
+			mPoint = point;
+		}
+		return point;
+	}
+
 
 	@Override
 	public String toString() {
 
-		boolean isR1 = mCurveParam.isType(CurveParam.SECP256_R1);
+		String encoded = mEncoded;
+		if (encoded == null) {
+			boolean isR1 = mCurveParam.isType(CurveParam.SECP256_R1);
 
-		return EosEcUtil.encodeEosCrypto(isR1 ? PREFIX : LEGACY_PREFIX, isR1 ? mCurveParam : null, mData);
+			encoded = EosEcUtil.encodeEosCrypto(isR1 ? PREFIX : LEGACY_PREFIX, isR1 ? mCurveParam : null, mData);
+			mEncoded = encoded;
+		}
+		return encoded;
 
 //        byte[] postfixBytes = isR1 ? EosEcUtil.PREFIX_R1.getBytes() : new byte[0] ;
 //        byte[] toDigest = new byte[mData.length + postfixBytes.length];
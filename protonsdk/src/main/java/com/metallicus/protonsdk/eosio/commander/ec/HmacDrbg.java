@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2021 Proton Chain LLC, Delaware
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.metallicus.protonsdk.eosio.commander.ec;
+
+import com.metallicus.protonsdk.eosio.commander.Hmac;
+
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+/**
+ * HMAC-SHA256 DRBG used to derive deterministic ECDSA nonces (RFC 6979, section 3.2).
+ * <p>
+ * The MACs are computed with a single rekeying {@link Hmac.Context}, since K changes after almost
+ * every MAC; signing allocates nothing once the context has computed its first MAC.
+ * An instance holds secret-derived state and is not thread-safe; {@link EcDsa} keeps one per thread
+ * and calls {@link #clear()} when it is done signing.
+ */
+final class HmacDrbg {
+
+	private static final int HASH_SIZE = 32;
+
+	private final MessageDigest digest;
+	private final Hmac.Context hmac;
+
+	private final byte[] k = new byte[HASH_SIZE];
+	private final byte[] v = new byte[HASH_SIZE];
+	private final byte[] h1 = new byte[HASH_SIZE];
+	private final byte[] nonceBytes = new byte[4];
+
+	HmacDrbg() {
+		try {
+			digest = MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			// Only happens if the platform does not support SHA-256
+			throw new RuntimeException(e);
+		}
+		hmac = Hmac.newSha256RekeyingContext(k);
+	}
+
+	/**
+	 * Steps b to g: seed the state with the private key and the message hash.
+	 * For nonce &gt; 0 the hash is first replaced by SHA256(hash || nonce), nonce encoded as by BigInteger.toByteArray().
+	 */
+	void init(byte[] hash, byte[] dBytes, int nonce) {
+		if (nonce > 0) {
+			int nonceLength = encodeNonce(nonce);
+			digest.reset();
+			digest.update(hash, 0, hash.length);
+			digest.update(nonceBytes, 0, nonceLength);
+			try {
+				digest.digest(h1, 0, HASH_SIZE);
+			} catch (DigestException e) {
+				// h1 always has room for a SHA-256 hash
+				throw new RuntimeException(e);
+			}
+		} else {
+			System.arraycopy(hash, 0, h1, 0, HASH_SIZE);
+		}
+
+		// Step b
+		Arrays.fill(v, (byte) 0x01);
+
+		// Step c
+		Arrays.fill(k, (byte) 0x00);
+		hmac.init(k);
+
+		// Step d, e
+		update(dBytes, (byte) 0x00);
+
+		// Step f, g
+		update(dBytes, (byte) 0x01);
+	}
+
+	/**
+	 * Step H2b: V = HMAC_K(V).
+	 *
+	 * @return V, which is overwritten by the next call
+	 */
+	byte[] generate() {
+		hmac.update(v, 0, HASH_SIZE).doFinal(v, 0);
+		return v;
+	}
+
+	/**
+	 * Step H3, after a rejected candidate: K = HMAC_K(V || 0x00), V = HMAC_K(V).
+	 */
+	void reseed() {
+		hmac.update(v, 0, HASH_SIZE).update((byte) 0x00).doFinal(k, 0);
+		hmac.init(k);
+		generate();
+	}
+
+	void clear() {
+		Arrays.fill(k, (byte) 0);
+		Arrays.fill(v, (byte) 0);
+		Arrays.fill(h1, (byte) 0);
+		hmac.clear();
+		digest.reset();
+	}
+
+	// K = HMAC_K(V || marker || dBytes || h1), V = HMAC_K(V)
+	private void update(byte[] dBytes, byte marker) {
+		hmac.update(v, 0, HASH_SIZE).update(marker).update(dBytes).update(h1, 0, HASH_SIZE).doFinal(k, 0);
+		hmac.init(k);
+		generate();
+	}
+
+	// same bytes as BigInteger.valueOf(nonce).toByteArray() for nonce > 0
+	private int encodeNonce(int nonce) {
+		int length = 1;
+		while (length < 4 && (nonce >> (8 * length - 1)) != 0) {
+			length++;
+		}
+		for (int i = 0; i < length; i++) {
+			nonceBytes[i] = (byte) (nonce >>> (8 * (length - 1 - i)));
+		}
+		return length;
+	}
+}
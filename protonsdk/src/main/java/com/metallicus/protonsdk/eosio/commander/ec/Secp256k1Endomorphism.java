@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2021 Proton Chain LLC, Delaware
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.metallicus.protonsdk.eosio.commander.ec;
+
+import java.math.BigInteger;
+
+/**
+ * The GLV endomorphism of secp256k1: (x, y) -&gt; (beta * x, y) equals multiplication by lambda.
+ * <p>
+ * A 256-bit scalar k is split into k1 + k2 * lambda (mod n) with k1, k2 of about 128 bits each, so
+ * k * P = k1 * P + k2 * phi(P) needs only half the doublings. See "Guide to Elliptic Curve Cryptography",
+ * algorithm 3.74; the constants are the ones used by libsecp256k1.
+ */
+final class Secp256k1Endomorphism {
+
+	static final BigInteger N = new BigInteger("FFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFEBAAEDCE6AF48A03BBFD25E8CD0364141", 16);
+
+	static final BigInteger BETA = new BigInteger("7ae96a2b657c07106e64479eac3434e99cf0497512f58995c1396c28719501ee", 16);
+	static final BigInteger LAMBDA = new BigInteger("5363ad4cc05c30e0a5261c028812645a122e22ea20816678df02967c1b23bd72", 16);
+
+	// short basis of the lattice {(a, b) : a + b * lambda = 0 (mod n)}
+	private static final BigInteger A1 = new BigInteger("3086d221a7d46bcde86c90e49284eb15", 16);
+	private static final BigInteger B1 = new BigInteger("-e4437ed6010e88286f547fa90abfe4c3", 16);
+	private static final BigInteger A2 = new BigInteger("114ca50f7a8e2f3f657c1108d9d44cfd8", 16);
+	private static final BigInteger B2 = A1;
+
+	private static final BigInteger HALF_N = N.shiftRight(1);
+
+	private Secp256k1Endomorphism() {
+	}
+
+	/**
+	 * @return {k1, k2} with k = k1 + k2 * lambda (mod n); either may be negative
+	 */
+	static BigInteger[] decompose(BigInteger k) {
+		BigInteger c1 = roundDivN(B2.multiply(k));
+		BigInteger c2 = roundDivN(B1.negate().multiply(k));
+
+		BigInteger k1 = k.subtract(c1.multiply(A1)).subtract(c2.multiply(A2));
+		BigInteger k2 = c1.multiply(B1).add(c2.multiply(B2)).negate();
+
+		return new BigInteger[]{k1, k2};
+	}
+
+	static EcPoint map(EcPoint p) {
+		if (p.isInfinity()) {
+			return p;
+		}
+
+		EcFieldElement beta = p.getCurve().fromBigInteger(BETA);
+		return new EcPoint(p.getCurve(), p.getX().multiply(beta), p.getY());
+	}
+
+	// round(x / n) for x >= 0
+	private static BigInteger roundDivN(BigInteger x) {
+		return x.add(HALF_N).divide(N);
+	}
+}
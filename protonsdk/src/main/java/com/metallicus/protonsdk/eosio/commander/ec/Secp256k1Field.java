@@ -0,0 +1,415 @@
+/*
+ * Copyright (c) 2021 Proton Chain LLC, Delaware
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.metallicus.protonsdk.eosio.commander.ec;
+
+import java.math.BigInteger;
+
+/**
+ * Arithmetic modulo the secp256k1 prime p = 2^256 - 2^32 - 977.
+ * <p>
+ * Elements are 8 little-endian 32-bit limbs, always fully reduced (&lt; p). Since 2^256 = 2^32 + 977 (mod p),
+ * reduction folds the high half of a product back in with a multiply by the small constant 0x1000003D1
+ * instead of a general division.
+ */
+final class Secp256k1Field {
+
+	static final BigInteger P = new BigInteger("FFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFEFFFFFC2F", 16);
+
+	static final int SIZE = 8;
+
+	private static final long M = 0xFFFFFFFFL;
+
+	// 2^256 mod p = 2^32 + 977
+	private static final long PC = 977L;
+
+	private static final int P0 = 0xFFFFFC2F;
+	private static final int P1 = 0xFFFFFFFE;
+
+	private Secp256k1Field() {
+	}
+
+	static int[] create() {
+		return new int[SIZE];
+	}
+
+	static int[] fromBigInteger(BigInteger x) {
+		if (x.signum() < 0 || x.compareTo(P) >= 0) {
+			throw new IllegalArgumentException("x value too large in field element");
+		}
+
+		int[] z = new int[SIZE];
+		for (int i = 0; i < SIZE; i++) {
+			z[i] = x.intValue();
+			x = x.shiftRight(32);
+		}
+		return z;
+	}
+
+	static BigInteger toBigInteger(int[] x) {
+		byte[] bytes = new byte[SIZE * 4];
+		for (int i = 0; i < SIZE; i++) {
+			int w = x[SIZE - 1 - i];
+			bytes[(i << 2)] = (byte) (w >>> 24);
+			bytes[(i << 2) + 1] = (byte) (w >>> 16);
+			bytes[(i << 2) + 2] = (byte) (w >>> 8);
+			bytes[(i << 2) + 3] = (byte) w;
+		}
+		return new BigInteger(1, bytes);
+	}
+
+	static void copy(int[] x, int[] z) {
+		System.arraycopy(x, 0, z, 0, SIZE);
+	}
+
+	static boolean isZero(int[] x) {
+		int d = 0;
+		for (int i = 0; i < SIZE; i++) {
+			d |= x[i];
+		}
+		return d == 0;
+	}
+
+	static boolean isOne(int[] x) {
+		int d = x[0] ^ 1;
+		for (int i = 1; i < SIZE; i++) {
+			d |= x[i];
+		}
+		return d == 0;
+	}
+
+	static boolean equals(int[] x, int[] y) {
+		int d = 0;
+		for (int i = 0; i < SIZE; i++) {
+			d |= x[i] ^ y[i];
+		}
+		return d == 0;
+	}
+
+	static boolean testBit0(int[] x) {
+		return (x[0] & 1) != 0;
+	}
+
+	static void add(int[] x, int[] y, int[] z) {
+		long c = 0;
+		for (int i = 0; i < SIZE; i++) {
+			c += (x[i] & M) + (y[i] & M);
+			z[i] = (int) c;
+			c >>>= 32;
+		}
+
+		if (c != 0) {
+			addPC(z, 1);
+		}
+		reduceOnce(z);
+	}
+
+	static void subtract(int[] x, int[] y, int[] z) {
+		long c = 0;
+		for (int i = 0; i < SIZE; i++) {
+			c += (x[i] & M) - (y[i] & M);
+			z[i] = (int) c;
+			c >>= 32;
+		}
+
+		if (c != 0) {
+			// borrowed 2^256; adding p is the same as subtracting 2^32 + 977 (mod 2^256)
+			subPC(z);
+		}
+	}
+
+	static void negate(int[] x, int[] z) {
+		if (isZero(x)) {
+			for (int i = 0; i < SIZE; i++) {
+				z[i] = 0;
+			}
+			return;
+		}
+
+		long c = (P0 & M) - (x[0] & M);
+		z[0] = (int) c;
+		c >>= 32;
+		c += (P1 & M) - (x[1] & M);
+		z[1] = (int) c;
+		c >>= 32;
+		for (int i = 2; i < SIZE; i++) {
+			c += M - (x[i] & M);
+			z[i] = (int) c;
+			c >>= 32;
+		}
+	}
+
+	static void twice(int[] x, int[] z) {
+		add(x, x, z);
+	}
+
+	static void multiply(int[] x, int[] y, int[] z) {
+		int[] tt = new int[SIZE * 2];
+		multiplyExt(x, y, tt);
+		reduce(tt, z);
+	}
+
+	static void multiply(int[] x, int[] y, int[] z, int[] tt) {
+		multiplyExt(x, y, tt);
+		reduce(tt, z);
+	}
+
+	static void square(int[] x, int[] z) {
+		int[] tt = new int[SIZE * 2];
+		multiplyExt(x, x, tt);
+		reduce(tt, z);
+	}
+
+	static void square(int[] x, int[] z, int[] tt) {
+		multiplyExt(x, x, tt);
+		reduce(tt, z);
+	}
+
+	static void squareN(int[] x, int n, int[] z, int[] tt) {
+		copy(x, z);
+		while (--n >= 0) {
+			multiplyExt(z, z, tt);
+			reduce(tt, z);
+		}
+	}
+
+	/**
+	 * multiply by a small non-negative constant
+	 */
+	static void multiplyBy(int[] x, int k, int[] z) {
+		long c = 0;
+		long kk = k & M;
+		for (int i = 0; i < SIZE; i++) {
+			c += (x[i] & M) * kk;
+			z[i] = (int) c;
+			c >>>= 32;
+		}
+
+		// c * 2^256 = c * (2^32 + 977)
+		if (c != 0) {
+			addPC(z, c);
+		}
+		reduceOnce(z);
+	}
+
+	/**
+	 * z = x^(p - 2) = x^-1, using the addition chain from libsecp256k1.
+	 */
+	static void invert(int[] x, int[] z) {
+		if (isZero(x)) {
+			throw new ArithmeticException("BigInteger not invertible.");
+		}
+
+		int[] tt = new int[SIZE * 2];
+		int[] x223 = new int[SIZE];
+		int[] x22 = new int[SIZE];
+		int[] x2 = new int[SIZE];
+		int[] x3 = new int[SIZE];
+		powerTo223(x, x223, x22, x2, x3, tt);
+
+		int[] t = new int[SIZE];
+		squareN(x223, 23, t, tt);
+		multiply(t, x22, t, tt);
+		squareN(t, 5, t, tt);
+		multiply(t, x, t, tt);
+		squareN(t, 3, t, tt);
+		multiply(t, x2, t, tt);
+		squareN(t, 2, t, tt);
+		multiply(t, x, z, tt);
+	}
+
+	/**
+	 * z = x^((p + 1) / 4). Returns false if x is not a quadratic residue.
+	 */
+	static boolean sqrt(int[] x, int[] z) {
+		int[] tt = new int[SIZE * 2];
+		int[] x223 = new int[SIZE];
+		int[] x22 = new int[SIZE];
+		int[] x2 = new int[SIZE];
+		int[] x3 = new int[SIZE];
+		powerTo223(x, x223, x22, x2, x3, tt);
+
+		int[] t = new int[SIZE];
+		squareN(x223, 23, t, tt);
+		multiply(t, x22, t, tt);
+		squareN(t, 6, t, tt);
+		multiply(t, x2, t, tt);
+		squareN(t, 2, t, tt);
+
+		int[] check = new int[SIZE];
+		square(t, check, tt);
+		if (!equals(check, x)) {
+			return false;
+		}
+
+		copy(t, z);
+		return true;
+	}
+
+	/**
+	 * shared prefix of the inversion and square root chains: x223 = x^(2^223 - 1)
+	 */
+	private static void powerTo223(int[] x, int[] x223, int[] x22, int[] x2, int[] x3, int[] tt) {
+		int[] x6 = new int[SIZE];
+		int[] x11 = x6;
+		int[] t = new int[SIZE];
+
+		square(x, x2, tt);
+		multiply(x2, x, x2, tt);
+
+		square(x2, x3, tt);
+		multiply(x3, x, x3, tt);
+
+		squareN(x3, 3, x6, tt);
+		multiply(x6, x3, x6, tt);
+
+		squareN(x6, 3, t, tt);
+		multiply(t, x3, t, tt); // x9
+
+		squareN(t, 2, x11, tt);
+		multiply(x11, x2, x11, tt);
+
+		squareN(x11, 11, x22, tt);
+		multiply(x22, x11, x22, tt);
+
+		squareN(x22, 22, t, tt);
+		multiply(t, x22, t, tt); // x44
+
+		int[] x88 = new int[SIZE];
+		squareN(t, 44, x88, tt);
+		multiply(x88, t, x88, tt);
+
+		squareN(x88, 88, x223, tt);
+		multiply(x223, x88, x223, tt); // x176
+
+		squareN(x223, 44, x223, tt);
+		multiply(x223, t, x223, tt); // x220
+
+		squareN(x223, 3, x223, tt);
+		multiply(x223, x3, x223, tt);
+	}
+
+	private static void multiplyExt(int[] x, int[] y, int[] zz) {
+		long c = 0;
+		long xi = x[0] & M;
+		for (int j = 0; j < SIZE; j++) {
+			c += xi * (y[j] & M);
+			zz[j] = (int) c;
+			c >>>= 32;
+		}
+		zz[SIZE] = (int) c;
+
+		for (int i = 1; i < SIZE; i++) {
+			xi = x[i] & M;
+			c = 0;
+			for (int j = 0; j < SIZE; j++) {
+				// (2^32 - 1)^2 + 2 * (2^32 - 1) = 2^64 - 1, so this never overflows an unsigned 64-bit accumulator
+				c += xi * (y[j] & M) + (zz[i + j] & M);
+				zz[i + j] = (int) c;
+				c >>>= 32;
+			}
+			zz[i + SIZE] = (int) c;
+		}
+	}
+
+	/**
+	 * z = xx mod p, where xx is a 512-bit product: lo + hi * 2^256 = lo + hi * 977 + (hi &lt;&lt; 32)
+	 */
+	private static void reduce(int[] xx, int[] z) {
+		long c = (xx[0] & M) + (xx[SIZE] & M) * PC;
+		z[0] = (int) c;
+		c >>>= 32;
+		for (int i = 1; i < SIZE; i++) {
+			c += (xx[i] & M) + (xx[SIZE + i] & M) * PC + (xx[SIZE + i - 1] & M);
+			z[i] = (int) c;
+			c >>>= 32;
+		}
+		c += xx[SIZE * 2 - 1] & M;
+
+		addPC(z, c);
+		reduceOnce(z);
+	}
+
+	/**
+	 * z += c * (2^32 + 977), folding any carry out of the top limb back in once more.
+	 */
+	private static void addPC(int[] z, long c) {
+		while (c != 0) {
+			long s = (z[0] & M) + c * PC;
+			z[0] = (int) s;
+			s >>>= 32;
+			s += (z[1] & M) + c;
+			z[1] = (int) s;
+			s >>>= 32;
+			for (int i = 2; i < SIZE && s != 0; i++) {
+				s += z[i] & M;
+				z[i] = (int) s;
+				s >>>= 32;
+			}
+			c = s;
+		}
+	}
+
+	private static void subPC(int[] z) {
+		long s = (z[0] & M) - PC;
+		z[0] = (int) s;
+		s >>= 32;
+		s += (z[1] & M) - 1;
+		z[1] = (int) s;
+		s >>= 32;
+		for (int i = 2; i < SIZE && s != 0; i++) {
+			s += z[i] & M;
+			z[i] = (int) s;
+			s >>= 32;
+		}
+	}
+
+	/**
+	 * subtract p once if z &gt;= p (z is known to be below 2^256 &lt; 2p)
+	 */
+	private static void reduceOnce(int[] z) {
+		for (int i = SIZE - 1; i >= 2; i--) {
+			if (z[i] != -1) {
+				return;
+			}
+		}
+
+		if ((z[1] & M) < (P1 & M)) {
+			return;
+		}
+		if (z[1] == P1 && (z[0] & M) < (P0 & M)) {
+			return;
+		}
+
+		// z - p = z + (2^32 + 977) - 2^256
+		long s = (z[0] & M) + PC;
+		z[0] = (int) s;
+		s >>>= 32;
+		s += (z[1] & M) + 1;
+		z[1] = (int) s;
+		s >>>= 32;
+		for (int i = 2; i < SIZE; i++) {
+			s += z[i] & M;
+			z[i] = (int) s;
+			s >>>= 32;
+		}
+	}
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2021 Proton Chain LLC, Delaware
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.metallicus.protonsdk.eosio.commander.ec;
+
+import java.math.BigInteger;
+
+/**
+ * A secp256k1 field element backed by fixed-width limbs (see {@link Secp256k1Field}).
+ * Created by {@link EcCurve#fromBigInteger(BigInteger)} when the curve prime is the secp256k1 prime.
+ */
+public class Secp256k1FieldElement extends EcFieldElement {
+
+	final int[] x;
+
+	public Secp256k1FieldElement(BigInteger x) {
+		this(Secp256k1Field.fromBigInteger(x));
+	}
+
+	Secp256k1FieldElement(int[] x) {
+		super(Secp256k1Field.P);
+		this.x = x;
+	}
+
+	private static int[] limbsOf(EcFieldElement b) {
+		if (b instanceof Secp256k1FieldElement) {
+			return ((Secp256k1FieldElement) b).x;
+		}
+		return Secp256k1Field.fromBigInteger(b.toBigInteger());
+	}
+
+	@Override
+	public BigInteger toBigInteger() {
+		return Secp256k1Field.toBigInteger(x);
+	}
+
+	@Override
+	public int getFieldSize() {
+		return 256;
+	}
+
+	@Override
+	public boolean isZero() {
+		return Secp256k1Field.isZero(x);
+	}
+
+	public boolean testBitZero() {
+		return Secp256k1Field.testBit0(x);
+	}
+
+	@Override
+	public EcFieldElement add(EcFieldElement b) {
+		int[] z = Secp256k1Field.create();
+		Secp256k1Field.add(x, limbsOf(b), z);
+		return new Secp256k1FieldElement(z);
+	}
+
+	@Override
+	public EcFieldElement subtract(EcFieldElement b) {
+		int[] z = Secp256k1Field.create();
+		Secp256k1Field.subtract(x, limbsOf(b), z);
+		return new Secp256k1FieldElement(z);
+	}
+
+	@Override
+	public EcFieldElement multiply(EcFieldElement b) {
+		int[] z = Secp256k1Field.create();
+		Secp256k1Field.multiply(x, limbsOf(b), z);
+		return new Secp256k1FieldElement(z);
+	}
+
+	@Override
+	public EcFieldElement divide(EcFieldElement b) {
+		int[] z = Secp256k1Field.create();
+		Secp256k1Field.invert(limbsOf(b), z);
+		Secp256k1Field.multiply(z, x, z);
+		return new Secp256k1FieldElement(z);
+	}
+
+	@Override
+	public EcFieldElement negate() {
+		int[] z = Secp256k1Field.create();
+		Secp256k1Field.negate(x, z);
+		return new Secp256k1FieldElement(z);
+	}
+
+	@Override
+	public EcFieldElement square() {
+		int[] z = Secp256k1Field.create();
+		Secp256k1Field.square(x, z);
+		return new Secp256k1FieldElement(z);
+	}
+
+	@Override
+	public EcFieldElement invert() {
+		int[] z = Secp256k1Field.create();
+		Secp256k1Field.invert(x, z);
+		return new Secp256k1FieldElement(z);
+	}
+
+	@Override
+	public EcFieldElement sqrt() {
+		int[] z = Secp256k1Field.create();
+		if (!Secp256k1Field.sqrt(x, z)) {
+			return null;
+		}
+		return new Secp256k1FieldElement(z);
+	}
+
+	@Override
+	public boolean equals(Object other) {
+		if (other == this) {
+			return true;
+		}
+
+		if (other instanceof Secp256k1FieldElement) {
+			return Secp256k1Field.equals(x, ((Secp256k1FieldElement) other).x);
+		}
+
+		return super.equals(other);
+	}
+}
@@ -1,11 +1,16 @@
 package com.metallicus.protonsdk.eosio.commander.model.chain;
 
 import com.google.gson.annotations.Expose;
+import com.google.gson.annotations.JsonAdapter;
+import com.metallicus.protonsdk.eosio.commander.HexTypeAdapter;
 import com.metallicus.protonsdk.eosio.commander.HexUtils;
+import com.metallicus.protonsdk.eosio.commander.digest.Sha256;
 import com.metallicus.protonsdk.eosio.commander.model.types.EosByteWriter;
+import com.metallicus.protonsdk.eosio.commander.model.types.PooledEosByteWriter;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.List;
 import java.util.zip.DataFormatException;
 import java.util.zip.Deflater;
@@ -25,45 +30,53 @@ public class PackedTransaction {
 	final String compression;
 
 	@Expose
-	private String packed_context_free_data;
+	@JsonAdapter(HexTypeAdapter.class)
+	private byte[] packed_context_free_data;
 
+	// kept as bytes and hex-encoded only when serialized
 	@Expose
-	private String packed_trx;
+	@JsonAdapter(HexTypeAdapter.class)
+	private byte[] packed_trx;
+
+	// sha256 of the uncompressed packed_trx, which is how the chain identifies the transaction
+	private transient Sha256 id;
 
 	public PackedTransaction(SignedTransaction stxn, CompressType compressType) {
 		compression = compressType.name();
 		signatures = stxn.getSignatures();
 
-		packed_trx = HexUtils.toHex(packTransaction(stxn, compressType));
+		packed_trx = packTransaction(stxn, compressType);
 
-		byte[] packed_ctx_free_bytes = packContextFreeData(stxn.getCtxFreeData(), compressType);
-		packed_context_free_data = (packed_ctx_free_bytes.length == 0) ? "" : HexUtils.toHex(packed_ctx_free_bytes);
+		packed_context_free_data = packContextFreeData(stxn.getCtxFreeData(), compressType);
 	}
 
 	private byte[] packTransaction(Transaction transaction, CompressType compressType) {
-		EosByteWriter byteWriter = new EosByteWriter(512);
-		transaction.pack(byteWriter);
+		try (PooledEosByteWriter byteWriter = PooledEosByteWriter.obtain()) {
+			transaction.pack(byteWriter);
+
+			id = Sha256.from(byteWriter.view());
 
-		// pack -> compress
-		return compress(byteWriter.toBytes(), compressType);
+			// pack -> compress
+			return compress(byteWriter, compressType);
+		}
 	}
 
 
 	private byte[] packContextFreeData(List<String> ctxFreeData, CompressType compressType) {
-		EosByteWriter byteWriter = new EosByteWriter(64);
-
 		int ctxFreeDataCount = (ctxFreeData == null) ? 0 : ctxFreeData.size();
 		if (ctxFreeDataCount == 0) {
-			return byteWriter.toBytes();
+			return new byte[0];
 		}
 
-		byteWriter.putVariableUInt(ctxFreeDataCount);
+		try (PooledEosByteWriter byteWriter = PooledEosByteWriter.obtain()) {
+			byteWriter.putVariableUInt(ctxFreeDataCount);
 
-		for (String hexData : ctxFreeData) {
-			byteWriter.putBytes(HexUtils.toBytes(hexData));
-		}
+			for (String hexData : ctxFreeData) {
+				byteWriter.putBytes(HexUtils.toBytes(hexData));
+			}
 
-		return compress(byteWriter.toBytes(), compressType);
+			return compress(byteWriter, compressType);
+		}
 	}
 
 
@@ -77,7 +90,14 @@ public class PackedTransaction {
 
 	// Added by joey-harward on 1/16/19
 	public String getPackedTrx() {
-		return packed_trx;
+		return HexUtils.toHex(packed_trx);
+	}
+
+	/**
+	 * @return the transaction id, as reported by push_transaction
+	 */
+	public String getId() {
+		return id.toString();
 	}
 
 	// Added by joey-harward on 1/16/19
@@ -85,16 +105,17 @@ public class PackedTransaction {
 		return signatures;
 	}
 
-	private byte[] compress(byte[] uncompressedBytes, CompressType compressType) {
+	private byte[] compress(EosByteWriter writer, CompressType compressType) {
 		if (compressType == null || !CompressType.zlib.equals(compressType)) {
-			return uncompressedBytes;
+			return writer.toBytes();
 		}
 
-		// zip!
+		// zip! straight from the writer's storage
+		ByteBuffer uncompressed = writer.view();
 		Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
-		deflater.setInput(uncompressedBytes);
+		deflater.setInput(uncompressed.array(), uncompressed.arrayOffset(), uncompressed.remaining());
 
-		ByteArrayOutputStream outputStream = new ByteArrayOutputStream(uncompressedBytes.length);
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream(uncompressed.remaining());
 		deflater.finish();
 		byte[] buffer = new byte[1024];
 		while (!deflater.finished()) {
@@ -106,7 +127,7 @@ public class PackedTransaction {
 			outputStream.close();
 		} catch (IOException e) {
 			e.printStackTrace();
-			return uncompressedBytes;
+			return writer.toBytes();
 		}
 
 		return outputStream.toByteArray();
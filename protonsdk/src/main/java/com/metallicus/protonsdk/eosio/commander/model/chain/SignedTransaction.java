@@ -26,10 +26,10 @@ package com.metallicus.protonsdk.eosio.commander.model.chain;
 import com.google.gson.annotations.Expose;
 import com.metallicus.protonsdk.eosio.commander.HexUtils;
 import com.metallicus.protonsdk.eosio.commander.digest.Sha256;
+import com.metallicus.protonsdk.eosio.commander.digest.Sha256Writer;
 import com.metallicus.protonsdk.eosio.commander.ec.EcDsa;
 import com.metallicus.protonsdk.eosio.commander.ec.EcSignature;
 import com.metallicus.protonsdk.eosio.commander.ec.EosPrivateKey;
-import com.metallicus.protonsdk.eosio.commander.model.types.EosByteWriter;
 import com.metallicus.protonsdk.eosio.commander.model.types.TypeChainId;
 
 import java.util.ArrayList;
@@ -84,7 +84,7 @@ public class SignedTransaction extends Transaction {
 			return Sha256.ZERO_HASH.getBytes();
 		}
 
-		EosByteWriter writer = new EosByteWriter(255);
+		Sha256Writer writer = new Sha256Writer();
 
 		writer.putVariableUInt(context_free_data.size());
 
@@ -94,12 +94,12 @@ public class SignedTransaction extends Transaction {
 			writer.putBytes(rawData);
 		}
 
-		return Sha256.from(writer.toBytes()).getBytes();
+		return writer.digest().getBytes();
 	}
 
 
 	private Sha256 getDigestForSignature(TypeChainId chainId) {
-		EosByteWriter writer = new EosByteWriter(255);
+		Sha256Writer writer = new Sha256Writer();
 
 		// data layout to sign :
 		// [ {chainId}, {Transaction( parent class )}, {hash of context_free_data} ]
@@ -108,7 +108,7 @@ public class SignedTransaction extends Transaction {
 		pack(writer);
 		writer.putBytes(getCfdHash());
 
-		return Sha256.from(writer.toBytes());
+		return writer.digest();
 	}
 
 	public void sign(EosPrivateKey privateKey, TypeChainId chainId) {
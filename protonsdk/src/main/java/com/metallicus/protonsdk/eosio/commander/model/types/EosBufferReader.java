@@ -0,0 +1,217 @@
+/*
+ * Copyright (c) 2021 Proton Chain LLC, Delaware
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.metallicus.protonsdk.eosio.commander.model.types;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * An {@link EosType.Reader} over a {@link ByteBuffer}, heap, direct or memory-mapped.
+ * <p>
+ * Besides the copying {@link #getBytes(int)} and {@link #getString()} of the Reader interface it can hand out
+ * byte fields as slices of the underlying buffer ({@link #getSlice(int)}) and strings whose UTF-8 is only
+ * decoded when asked for ({@link #getStringSlice()}), so large dumps can be walked without an allocation
+ * per field. Slices share storage with the source buffer and stay valid as long as it does.
+ */
+public class EosBufferReader implements EosType.Reader {
+
+	private final ByteBuffer _buf;
+
+	/**
+	 * Reads from the remaining bytes of buf. The position of buf itself is left alone.
+	 */
+	public EosBufferReader(ByteBuffer buf) {
+		_buf = buf.slice().order(ByteOrder.LITTLE_ENDIAN);
+	}
+
+	public EosBufferReader(byte[] buf, int offset, int length) {
+		this(ByteBuffer.wrap(buf, offset, length));
+	}
+
+	/**
+	 * Maps the whole file read-only and reads from it.
+	 */
+	public static EosBufferReader map(File file) throws IOException {
+		try (RandomAccessFile raf = new RandomAccessFile(file, "r"); FileChannel channel = raf.getChannel()) {
+			// the mapping stays valid after the channel is closed
+			return new EosBufferReader(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+		}
+	}
+
+	public int position() {
+		return _buf.position();
+	}
+
+	public void position(int position) {
+		_buf.position(position);
+	}
+
+	public int remaining() {
+		return _buf.remaining();
+	}
+
+	@Override
+	public boolean hasRemaining() {
+		return _buf.hasRemaining();
+	}
+
+	public void skip(int size) throws EosType.InsufficientBytesException {
+		checkAvailable(size);
+		_buf.position(_buf.position() + size);
+	}
+
+	@Override
+	public byte get() throws EosType.InsufficientBytesException {
+		checkAvailable(1);
+		return _buf.get();
+	}
+
+	@Override
+	public int getShortLE() throws EosType.InsufficientBytesException {
+		checkAvailable(2);
+		return _buf.getShort() & 0xFFFF;
+	}
+
+	@Override
+	public int getIntLE() throws EosType.InsufficientBytesException {
+		checkAvailable(4);
+		return _buf.getInt();
+	}
+
+	@Override
+	public long getLongLE() throws EosType.InsufficientBytesException {
+		checkAvailable(8);
+		return _buf.getLong();
+	}
+
+	@Override
+	public byte[] getBytes(int size) throws EosType.InsufficientBytesException {
+		checkAvailable(size);
+		byte[] bytes = new byte[size];
+		_buf.get(bytes);
+		return bytes;
+	}
+
+	/**
+	 * @return the next size bytes as a view of the underlying buffer, without copying them
+	 */
+	public ByteBuffer getSlice(int size) throws EosType.InsufficientBytesException {
+		checkAvailable(size);
+		int position = _buf.position();
+
+		ByteBuffer slice = _buf.duplicate();
+		slice.limit(position + size);
+		_buf.position(position + size);
+
+		return slice.slice();
+	}
+
+	/**
+	 * @return the next length-prefixed byte field as a view of the underlying buffer
+	 */
+	public ByteBuffer getVariableSlice() throws EosType.InsufficientBytesException {
+		return getSlice(getVariableSize());
+	}
+
+	@Override
+	public String getString() throws EosType.InsufficientBytesException {
+		return getStringSlice().toString();
+	}
+
+	/**
+	 * Reads a string field without decoding it.
+	 */
+	public StringSlice getStringSlice() throws EosType.InsufficientBytesException {
+		return new StringSlice(getVariableSlice());
+	}
+
+	@Override
+	public long getVariableUint() throws EosType.InsufficientBytesException {
+		long v = 0;
+		byte b;
+		int by = 0;
+		do {
+			b = get();
+			v |= (long) (b & 0x7F) << by;
+			by += 7;
+		}
+		while ((b & 0x80) != 0);
+
+		return v;
+	}
+
+	private int getVariableSize() throws EosType.InsufficientBytesException {
+		return (int) (getVariableUint() & 0x7FFFFFFF);
+	}
+
+	private void checkAvailable(int num) throws EosType.InsufficientBytesException {
+		if (num < 0 || _buf.remaining() < num) {
+			throw new EosType.InsufficientBytesException();
+		}
+	}
+
+	/**
+	 * UTF-8 bytes of a string field, decoded on the first {@link #toString()}.
+	 */
+	public static final class StringSlice {
+		private final ByteBuffer mBytes;
+		private String mDecoded;
+
+		StringSlice(ByteBuffer bytes) {
+			mBytes = bytes;
+		}
+
+		/**
+		 * @return the undecoded bytes, as a fresh view each time
+		 */
+		public ByteBuffer bytes() {
+			return mBytes.duplicate();
+		}
+
+		public int byteLength() {
+			return mBytes.remaining();
+		}
+
+		/**
+		 * Compares against value without decoding this string.
+		 */
+		public boolean contentEquals(String value) {
+			if (mDecoded != null) {
+				return mDecoded.equals(value);
+			}
+			return mBytes.equals(ByteBuffer.wrap(value.getBytes(StandardCharsets.UTF_8)));
+		}
+
+		@Override
+		public String toString() {
+			if (mDecoded == null) {
+				mDecoded = StandardCharsets.UTF_8.decode(mBytes.duplicate()).toString();
+			}
+			return mDecoded;
+		}
+	}
+}
@@ -98,6 +98,10 @@ public class EosByteReader implements EosType.Reader {
 		return v;
 	}
 
+	@Override
+	public boolean hasRemaining() {
+		return _index < _buf.length;
+	}
 
 	private void checkAvailable(int num) throws EosType.InsufficientBytesException {
 		if (_buf.length - _index < num) {
@@ -23,6 +23,7 @@
  */
 package com.metallicus.protonsdk.eosio.commander.model.types;
 
+import java.nio.ByteBuffer;
 import java.util.Collection;
 
 /**
@@ -102,6 +103,45 @@ public class EosByteWriter implements EosType.Writer {
 	}
 
 
+	/**
+	 * Writes the remaining bytes of value, advancing its position to its limit. Works for direct buffers too.
+	 */
+	public void putBytes(ByteBuffer value) {
+		int length = value.remaining();
+		ensureCapacity(length);
+		value.get(_buf, _index, length);
+		_index += length;
+	}
+
+	/**
+	 * Copies the bytes written so far into dst, e.g. a direct buffer handed to native code.
+	 *
+	 * @return the number of bytes copied
+	 */
+	public int writeTo(ByteBuffer dst) {
+		dst.put(_buf, 0, _index);
+		return _index;
+	}
+
+	/**
+	 * @return the bytes written so far, without copying them. The view shares this writer's storage, so it is
+	 * only valid until the next write, {@link #reset()} or release of a pooled writer.
+	 */
+	public ByteBuffer view() {
+		return ByteBuffer.wrap(_buf, 0, _index).slice();
+	}
+
+	/**
+	 * Discards everything written, keeping the allocated storage for reuse.
+	 */
+	public void reset() {
+		_index = 0;
+	}
+
+	int capacity() {
+		return _buf.length;
+	}
+
 	@Override
 	public byte[] toBytes() {
 		byte[] bytes = new byte[_index];
@@ -29,6 +29,8 @@ import com.google.gson.annotations.Expose;
 import com.metallicus.protonsdk.eosio.commander.HexUtils;
 import com.metallicus.protonsdk.eosio.commander.Utils;
 
+import java.nio.ByteBuffer;
+
 /**
  * Created by swapnibble on 2017-09-15.
  */
@@ -88,10 +90,12 @@ public class EosTransfer implements EosType.Packer {
 	}
 
 	public String getAsHex() {
-		EosType.Writer writer = new EosByteWriter(128);
-		pack(writer);
+		try (PooledEosByteWriter writer = PooledEosByteWriter.obtain()) {
+			pack(writer);
 
-		return HexUtils.toHex(writer.toBytes());
+			ByteBuffer packed = writer.view();
+			return HexUtils.toHex(packed.array(), packed.arrayOffset(), packed.remaining());
+		}
 	}
 
 	// Added by joey-harward on 7/1/20
@@ -57,6 +57,8 @@ public interface EosType {
 		String getString() throws InsufficientBytesException;
 
 		long getVariableUint() throws InsufficientBytesException;
+
+		boolean hasRemaining();
 	}
 
 	interface Writer {
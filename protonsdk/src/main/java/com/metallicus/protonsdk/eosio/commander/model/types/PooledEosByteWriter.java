@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2021 Proton Chain LLC, Delaware
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.metallicus.protonsdk.eosio.commander.model.types;
+
+import java.util.ArrayDeque;
+
+/**
+ * An {@link EosByteWriter} taken from a small per-thread pool, so packing a transaction does not allocate a
+ * fresh, repeatedly doubled buffer every time.
+ * <p>
+ * Use it in a try-with-resources block; {@link #close()} resets the writer and hands its storage back to the
+ * pool of the closing thread. Anything obtained from {@link #view()} must not be used after that.
+ */
+public final class PooledEosByteWriter extends EosByteWriter implements AutoCloseable {
+
+	private static final int INITIAL_CAPACITY = 512;
+
+	// writers kept per thread; more than this are only needed for nested packing
+	private static final int POOL_SIZE = 4;
+
+	// don't keep a buffer around that grew for one unusually large transaction
+	private static final int MAX_POOLED_CAPACITY = 64 * 1024;
+
+	private static final ThreadLocal<ArrayDeque<PooledEosByteWriter>> POOL = new ThreadLocal<ArrayDeque<PooledEosByteWriter>>() {
+		@Override
+		protected ArrayDeque<PooledEosByteWriter> initialValue() {
+			return new ArrayDeque<>(POOL_SIZE);
+		}
+	};
+
+	private boolean mReleased;
+
+	private PooledEosByteWriter() {
+		super(INITIAL_CAPACITY);
+	}
+
+	public static PooledEosByteWriter obtain() {
+		PooledEosByteWriter writer = POOL.get().pollFirst();
+		if (writer == null) {
+			writer = new PooledEosByteWriter();
+		}
+		writer.mReleased = false;
+		return writer;
+	}
+
+	/**
+	 * Returns this writer to the pool. Calling it more than once has no further effect.
+	 */
+	@Override
+	public void close() {
+		if (mReleased) {
+			return;
+		}
+		mReleased = true;
+		reset();
+
+		ArrayDeque<PooledEosByteWriter> pool = POOL.get();
+		if (capacity() <= MAX_POOLED_CAPACITY && pool.size() < POOL_SIZE) {
+			pool.offerFirst(this);
+		}
+	}
+}
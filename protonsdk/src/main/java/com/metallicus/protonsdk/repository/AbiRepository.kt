@@ -0,0 +1,227 @@
+/*
+ * Copyright (c) 2021 Proton Chain LLC, Delaware
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.metallicus.protonsdk.repository
+
+import com.google.gson.JsonObject
+import com.google.gson.JsonParser
+import com.metallicus.protonsdk.api.AccountBody
+import com.metallicus.protonsdk.api.ProtonChainService
+import com.metallicus.protonsdk.db.ContractAbiDao
+import com.metallicus.protonsdk.eosio.commander.abi.AbiSerializer
+import com.metallicus.protonsdk.eosio.commander.abi.EosAbi
+import com.metallicus.protonsdk.eosio.commander.digest.Sha256
+import com.metallicus.protonsdk.model.ContractAbi
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.CoroutineStart
+import kotlinx.coroutines.Deferred
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.async
+import kotlinx.coroutines.launch
+import timber.log.Timber
+import java.util.concurrent.TimeUnit
+import javax.inject.Inject
+import javax.inject.Singleton
+
+/**
+ * Contract ABIs, cached in memory (LRU) and in the db so a contract seen before needs no network round trip.
+ *
+ * Entries older than [REVALIDATE_AFTER_MILLIS] are still served, and refetched in the background; the stored
+ * copy is only rewritten if the ABI's hash changed. Concurrent misses for the same contract share one load.
+ */
+@Singleton
+class AbiRepository @Inject constructor(
+	private val contractAbiDao: ContractAbiDao,
+	private val protonChainService: ProtonChainService
+) {
+	companion object {
+		const val MAX_MEMORY_ENTRIES = 32
+		val REVALIDATE_AFTER_MILLIS = TimeUnit.HOURS.toMillis(1)
+	}
+
+	private class Entry(val abi: JsonObject, val abiHash: String, @Volatile var fetchedAt: Long) {
+		val abiJson: String by lazy { abi.toString() }
+
+		val serializer: AbiSerializer? by lazy {
+			try {
+				AbiSerializer(EosAbi.fromJson(abi))
+			} catch (e: IllegalArgumentException) {
+				Timber.d(e)
+				null
+			}
+		}
+	}
+
+	private val entries = object : LinkedHashMap<String, Entry>(MAX_MEMORY_ENTRIES, 0.75f, true) {
+		override fun removeEldestEntry(eldest: MutableMap.MutableEntry<String, Entry>): Boolean {
+			return size > MAX_MEMORY_ENTRIES
+		}
+	}
+
+	private val revalidating = mutableSetOf<String>()
+
+	// db lookup or fetch in flight per key, so that concurrent misses share it
+	private val loading = mutableMapOf<String, Deferred<Entry?>>()
+
+	private val scope = CoroutineScope(SupervisorJob() + Dispatchers.IO)
+
+	/**
+	 * @return the ABI json if it is in memory, without suspending
+	 */
+	fun getCachedAbiJson(chainUrl: String, accountName: String): String? {
+		val entry = getMemoryEntry(chainUrl, accountName) ?: return null
+		revalidateIfStale(chainUrl, accountName, entry)
+		return entry.abiJson
+	}
+
+	suspend fun getAbiJson(chainUrl: String, accountName: String): String? {
+		return getEntry(chainUrl, accountName)?.abiJson
+	}
+
+	suspend fun getAbiSerializer(chainUrl: String, accountName: String): AbiSerializer? {
+		return getEntry(chainUrl, accountName)?.serializer
+	}
+
+	/**
+	 * Refetches the ABI in the background, e.g. when data no longer packs with the cached one
+	 */
+	fun revalidate(chainUrl: String, accountName: String) {
+		val key = key(chainUrl, accountName)
+		synchronized(revalidating) {
+			if (!revalidating.add(key)) {
+				return
+			}
+		}
+
+		scope.launch {
+			try {
+				fetch(chainUrl, accountName)
+			} catch (e: Exception) {
+				Timber.d(e)
+			} finally {
+				synchronized(revalidating) {
+					revalidating.remove(key)
+				}
+			}
+		}
+	}
+
+	suspend fun removeAll() {
+		synchronized(entries) {
+			entries.clear()
+		}
+		contractAbiDao.removeAll()
+	}
+
+	private suspend fun getEntry(chainUrl: String, accountName: String): Entry? {
+		getMemoryEntry(chainUrl, accountName)?.let {
+			revalidateIfStale(chainUrl, accountName, it)
+			return it
+		}
+
+		val key = key(chainUrl, accountName)
+		val inFlight = synchronized(loading) {
+			loading.getOrPut(key) {
+				// started only once it is registered, so the removal below cannot run first
+				scope.async(start = CoroutineStart.LAZY) {
+					try {
+						load(chainUrl, accountName)
+					} finally {
+						synchronized(loading) {
+							loading.remove(key)
+						}
+					}
+				}
+			}
+		}
+		return inFlight.await()
+	}
+
+	private suspend fun load(chainUrl: String, accountName: String): Entry? {
+		// a load that finished just before this one was started may have filled it
+		getMemoryEntry(chainUrl, accountName)?.let {
+			return it
+		}
+
+		return try {
+			val stored = contractAbiDao.find(chainUrl, accountName)
+			if (stored != null) {
+				val entry = Entry(JsonParser.parseString(stored.abi).asJsonObject, stored.abiHash, stored.fetchedAt)
+				putMemoryEntry(chainUrl, accountName, entry)
+				revalidateIfStale(chainUrl, accountName, entry)
+				entry
+			} else {
+				fetch(chainUrl, accountName)
+			}
+		} catch (e: Exception) {
+			Timber.d(e)
+			null
+		}
+	}
+
+	private suspend fun fetch(chainUrl: String, accountName: String): Entry? {
+		val response = protonChainService.getAbi("$chainUrl/v1/chain/get_abi", AccountBody(accountName))
+		val abi = response.body()?.get("abi")
+		if (!response.isSuccessful || abi == null || !abi.isJsonObject) {
+			return null
+		}
+
+		val abiJson = abi.toString()
+		val abiHash = Sha256.from(abiJson.toByteArray()).toString()
+		val now = System.currentTimeMillis()
+
+		val current = getMemoryEntry(chainUrl, accountName)
+		val entry = if (current != null && current.abiHash == abiHash) {
+			current.fetchedAt = now
+			contractAbiDao.updateFetchedAt(chainUrl, accountName, now)
+			current
+		} else {
+			contractAbiDao.insert(ContractAbi(chainUrl, accountName, abiJson, abiHash, now))
+			Entry(abi.asJsonObject, abiHash, now)
+		}
+
+		putMemoryEntry(chainUrl, accountName, entry)
+		return entry
+	}
+
+	private fun revalidateIfStale(chainUrl: String, accountName: String, entry: Entry) {
+		if (System.currentTimeMillis() - entry.fetchedAt > REVALIDATE_AFTER_MILLIS) {
+			revalidate(chainUrl, accountName)
+		}
+	}
+
+	private fun getMemoryEntry(chainUrl: String, accountName: String): Entry? {
+		synchronized(entries) {
+			return entries[key(chainUrl, accountName)]
+		}
+	}
+
+	private fun putMemoryEntry(chainUrl: String, accountName: String, entry: Entry) {
+		synchronized(entries) {
+			entries[key(chainUrl, accountName)] = entry
+		}
+	}
+
+	private fun key(chainUrl: String, accountName: String): String {
+		return "$chainUrl|$accountName"
+	}
+}
@@ -67,4 +67,8 @@ class ActionRepository @Inject constructor(
 	suspend fun pushTransaction(chainUrl: String, packedTransaction: PackedTransaction): Response<JsonObject> {
 		return protonChainService.pushTransaction("$chainUrl/v1/chain/push_transaction", packedTransaction)
 	}
+
+	suspend fun getTransaction(hyperionHistoryUrl: String, transactionId: String): Response<JsonObject> {
+		return protonChainService.getTransaction("$hyperionHistoryUrl/v2/history/get_transaction", transactionId)
+	}
 }
@@ -72,6 +72,10 @@ class ChainProviderRepository @Inject constructor(
 		return protonChainStatsService.getChainInfo("$chainUrl/v1/chain/get_info")
 	}
 
+	suspend fun getBlock(chainUrl: String, blockNumOrId: String): Response<JsonObject> {
+		return protonChainService.getBlock("$chainUrl/v1/chain/get_block", BlockBody(blockNumOrId))
+	}
+
 	suspend fun getHealth(chainUrl: String): Response<JsonObject> {
 		return protonChainStatsService.getHealth("$chainUrl/v2/health")
 	}
@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2021 Proton Chain LLC, Delaware
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.metallicus.protonsdk.repository
+
+import com.metallicus.protonsdk.common.Resource
+import com.metallicus.protonsdk.model.ChainInfo
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.launch
+import timber.log.Timber
+import java.util.concurrent.TimeUnit
+import javax.inject.Inject
+import javax.inject.Singleton
+
+/**
+ * TAPoS (transaction as proof of stake) headers for signing, built from a cached get_info per chain so
+ * signing a transaction does not wait for a round trip to the node.
+ *
+ * Chain info older than [refreshAfterMillis] is still used, and refetched in the background; only info
+ * older than [maxAgeMillis] (or none) is fetched before returning. The expiration is counted from the
+ * head block time plus the age of the cached info, so it stays [expirationMillis] ahead of the chain.
+ */
+@Singleton
+class TaposRepository @Inject constructor(
+	private val chainProviderRepository: ChainProviderRepository
+) {
+	companion object {
+		val DEFAULT_REFRESH_AFTER_MILLIS = TimeUnit.SECONDS.toMillis(5)
+		val DEFAULT_MAX_AGE_MILLIS = TimeUnit.MINUTES.toMillis(1)
+		val DEFAULT_EXPIRATION_MILLIS = TimeUnit.SECONDS.toMillis(30)
+	}
+
+	class Tapos(val chainId: String, val refBlockId: String, val expiration: String)
+
+	private class Entry(val chainInfo: ChainInfo, val fetchedAt: Long)
+
+	@Volatile
+	var refreshAfterMillis = DEFAULT_REFRESH_AFTER_MILLIS
+
+	@Volatile
+	var maxAgeMillis = DEFAULT_MAX_AGE_MILLIS
+
+	@Volatile
+	var expirationMillis = DEFAULT_EXPIRATION_MILLIS
+
+	/**
+	 * Reference the last irreversible block instead of the head block, which cannot be forked out
+	 */
+	@Volatile
+	var useIrreversibleBlock = false
+
+	private val entries = mutableMapOf<String, Entry>()
+
+	private val refreshing = mutableSetOf<String>()
+
+	private val refreshScope = CoroutineScope(SupervisorJob() + Dispatchers.IO)
+
+	suspend fun getTapos(chainUrl: String): Resource<Tapos> {
+		val entryResource = getFreshEntry(chainUrl)
+		val entry = entryResource.data
+		return if (entry != null) {
+			Resource.success(toTapos(entry, currentTimeMillis()))
+		} else {
+			Resource.error(entryResource.message.orEmpty())
+		}
+	}
+
+	/**
+	 * @return the cached chain info, at most [maxAgeMillis] old
+	 */
+	suspend fun getChainInfo(chainUrl: String): Resource<ChainInfo> {
+		val entryResource = getFreshEntry(chainUrl)
+		val entry = entryResource.data
+		return if (entry != null) {
+			Resource.success(entry.chainInfo)
+		} else {
+			Resource.error(entryResource.message.orEmpty())
+		}
+	}
+
+	private suspend fun getFreshEntry(chainUrl: String): Resource<Entry> {
+		val now = currentTimeMillis()
+		val cached = getEntry(chainUrl)
+		if (cached != null && now - cached.fetchedAt <= maxAgeMillis) {
+			if (now - cached.fetchedAt > refreshAfterMillis) {
+				refresh(chainUrl)
+			}
+			return Resource.success(cached)
+		}
+
+		val chainInfoResponse = chainProviderRepository.getChainInfo(chainUrl)
+		return if (chainInfoResponse.isSuccessful) {
+			val chainInfo = chainInfoResponse.body()
+
+			requireNotNull(chainInfo)
+
+			Resource.success(putEntry(chainUrl, chainInfo))
+		} else {
+			val msg = chainInfoResponse.errorBody()?.string()
+			val errorMsg = if (msg.isNullOrEmpty()) {
+				chainInfoResponse.message()
+			} else {
+				msg
+			}
+
+			Resource.error(errorMsg)
+		}
+	}
+
+	/**
+	 * Refetches the chain info in the background
+	 */
+	fun refresh(chainUrl: String) {
+		synchronized(refreshing) {
+			if (!refreshing.add(chainUrl)) {
+				return
+			}
+		}
+
+		refreshScope.launch {
+			try {
+				val chainInfoResponse = chainProviderRepository.getChainInfo(chainUrl)
+				chainInfoResponse.body()?.let {
+					if (chainInfoResponse.isSuccessful) {
+						putEntry(chainUrl, it)
+					}
+				}
+			} catch (e: Exception) {
+				Timber.d(e)
+			} finally {
+				synchronized(refreshing) {
+					refreshing.remove(chainUrl)
+				}
+			}
+		}
+	}
+
+	/**
+	 * Drops the cached chain info, e.g. after the node rejected a transaction signed with it
+	 */
+	fun invalidate(chainUrl: String) {
+		synchronized(entries) {
+			entries.remove(chainUrl)
+		}
+	}
+
+	private fun toTapos(entry: Entry, now: Long): Tapos {
+		val chainInfo = entry.chainInfo
+		val refBlockId = if (useIrreversibleBlock) chainInfo.lastIrreversibleBlockId else chainInfo.headBlockId
+		val expiration = chainInfo.getTimeAfterHeadBlockTime((now - entry.fetchedAt + expirationMillis).toInt())
+		return Tapos(chainInfo.chainId, refBlockId, expiration)
+	}
+
+	private fun getEntry(chainUrl: String): Entry? {
+		synchronized(entries) {
+			return entries[chainUrl]
+		}
+	}
+
+	private fun putEntry(chainUrl: String, chainInfo: ChainInfo): Entry {
+		val entry = Entry(chainInfo, currentTimeMillis())
+		synchronized(entries) {
+			entries[chainUrl] = entry
+		}
+		return entry
+	}
+
+	private fun currentTimeMillis(): Long {
+		return TimeUnit.NANOSECONDS.toMillis(System.nanoTime())
+	}
+}
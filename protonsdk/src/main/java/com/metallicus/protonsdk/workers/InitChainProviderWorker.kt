@@ -32,6 +32,7 @@ import com.metallicus.protonsdk.common.ProtonError
 import com.metallicus.protonsdk.model.ChainProvider
 import com.metallicus.protonsdk.model.ChainUrlInfo
 import com.metallicus.protonsdk.model.KYCProvider
+import com.metallicus.protonsdk.repository.AbiRepository
 import com.metallicus.protonsdk.repository.ChainProviderRepository
 import com.squareup.inject.assisted.Assisted
 import com.squareup.inject.assisted.AssistedInject
@@ -42,7 +43,8 @@ class InitChainProviderWorker
 	@Assisted context: Context,
 	@Assisted params: WorkerParameters,
 	private val prefs: Prefs,
-	private val chainProviderRepository: ChainProviderRepository
+	private val chainProviderRepository: ChainProviderRepository,
+	private val abiRepository: AbiRepository
 ) : CoroutineWorker(context, params) {
 	companion object {
 		const val PROTON_CHAIN_URL = "protonChainUrl"
@@ -61,6 +63,9 @@ class InitChainProviderWorker
 			if (response.isSuccessful) {
 				chainProviderRepository.removeAll()
 
+				// ABIs are cached per chain url, which may have changed
+				abiRepository.removeAll()
+
 				val chainProvider = Gson().fromJson(response.body(), ChainProvider::class.java)
 				chainProvider.protonChainUrl = protonChainUrl
 
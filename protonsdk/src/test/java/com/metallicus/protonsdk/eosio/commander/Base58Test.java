@@ -0,0 +1,136 @@
+package com.metallicus.protonsdk.eosio.commander;
+
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+
+public class Base58Test {
+
+	// bytes, encoding
+	private static final String[][] VECTORS = {
+		{"", ""},
+		{"61", "2g"},
+		{"626262", "a3gV"},
+		{"ecac89cad93923c02321", "EJDM8drfXA6uyA"},
+		{"00eb15231dfceb60925886b67d065299925915aeb172c06647", "1NS17iag9jJgTHD1VXjvLCEnZuQ3rJDE9L"},
+		{"00000000000000000000", "1111111111"},
+		{"000000000000000000000000000000000000000000000000000000000000000001", "111111111111111111111111111111112"},
+	};
+
+	private static final String WIF = "5KQwrPbwdL6PhXujxW37FSSQZ1JiwsST4cqQzDeyXtP79zkvFD3";
+	private static final String WIF_DATA = "80d2653ff7cbb2d8ff129ac27ef5781ce68b2558c41a74af1f2ddca635cbeef07d";
+
+	private static final String LEGACY_PUB = "6MRyAjQq8ud7hVNYcfnVPJqcVpscN5So8BhtHuGYqET5GDW5CV";
+	private static final String PUB_K1 = "6MRyAjQq8ud7hVNYcfnVPJqcVpscN5So8BhtHuGYqET5BoDq63";
+	private static final String PUB_DATA = "02c0ded2bc1f1305fb0faac5e6c03ee3a1924234985427b6167ca569d13df435cf";
+
+	private static final String[] INVALID = {"0", "O", "I", "l", "2g0", "a3g V", "abc!", "é"};
+
+	// schoolbook conversion to check the limb-based one against
+	private static String referenceEncode(byte[] input) {
+		StringBuilder sb = new StringBuilder();
+		BigInteger value = new BigInteger(1, input);
+		BigInteger base = BigInteger.valueOf(58);
+		while (value.signum() > 0) {
+			BigInteger[] qr = value.divideAndRemainder(base);
+			sb.append(Base58.ALPHABET[qr[1].intValue()]);
+			value = qr[0];
+		}
+		for (int i = 0; i < input.length && input[i] == 0; i++) {
+			sb.append('1');
+		}
+		return sb.reverse().toString();
+	}
+
+	@Test
+	public void encodesKnownVectors() {
+		for (String[] vector : VECTORS) {
+			byte[] bytes = HexUtils.toBytes(vector[0]);
+			assertEquals(vector[1], Base58.encode(bytes));
+			assertArrayEquals(bytes, Base58.decode(vector[1]));
+		}
+	}
+
+	@Test
+	public void roundTripsWithLeadingZeros() {
+		Random random = new Random(11);
+		for (int length = 0; length <= 80; length++) {
+			for (int zeros = 0; zeros <= Math.min(length, 5); zeros++) {
+				byte[] bytes = new byte[length];
+				random.nextBytes(bytes);
+				Arrays.fill(bytes, 0, zeros, (byte) 0);
+
+				String encoded = Base58.encode(bytes);
+				assertEquals(referenceEncode(bytes), encoded);
+				assertArrayEquals(bytes, Base58.decode(encoded));
+
+				char[] chars = new char[Base58.maxEncodedLength(length) + 3];
+				int count = Base58.encode(bytes, 0, length, chars, 3);
+				assertEquals(encoded, new String(chars, 3, count));
+
+				byte[] out = new byte[Base58.maxDecodedLength(encoded.length()) + 2];
+				assertEquals(length, Base58.decode(encoded, out, 2));
+				assertArrayEquals(bytes, Arrays.copyOfRange(out, 2, 2 + length));
+
+				assertArrayEquals(bytes, Base58.decodeChecked(Base58.encodeWithChecksum(bytes)));
+				assertArrayEquals(bytes, Base58.decodeRipemd160Checked(Base58.encodeWithRipemd160Checksum(bytes, null), null, null));
+			}
+		}
+	}
+
+	@Test
+	public void rejectsInvalidCharacters() {
+		for (String input : INVALID) {
+			assertNull(input, Base58.decode(input));
+			assertEquals(input, -1, Base58.decode(input, new byte[16], 0));
+			assertThrows(IllegalArgumentException.class, () -> Base58.decodeChecked(input));
+			assertThrows(IllegalArgumentException.class, () -> Base58.decodeRipemd160Checked(input, null, null));
+		}
+	}
+
+	@Test
+	public void decodesKnownWif() {
+		assertArrayEquals(HexUtils.toBytes(WIF_DATA), Base58.decodeChecked(WIF));
+		assertEquals(WIF, Base58.encodeWithChecksum(HexUtils.toBytes(WIF_DATA)));
+	}
+
+	@Test
+	public void decodesKnownPublicKeys() {
+		byte[] data = HexUtils.toBytes(PUB_DATA);
+
+		RefValue<Long> checksum = new RefValue<>();
+		assertArrayEquals(data, Base58.decodeRipemd160Checked(LEGACY_PUB, null, checksum));
+		assertEquals(0xd2f905ebL, (long) checksum.data);
+		assertEquals(LEGACY_PUB, Base58.encodeWithRipemd160Checksum(data, null));
+
+		assertArrayEquals(data, Base58.decodeRipemd160Checked(PUB_K1, "K1".getBytes(), null));
+		assertEquals(PUB_K1, Base58.encodeWithRipemd160Checksum(data, "K1".getBytes()));
+	}
+
+	@Test
+	public void rejectsBadChecksums() {
+		assertThrows(IllegalArgumentException.class, () -> Base58.decodeChecked(corrupt(WIF)));
+		assertThrows(IllegalArgumentException.class, () -> Base58.decodeRipemd160Checked(corrupt(LEGACY_PUB), null, null));
+
+		// right checksum, wrong kind of checksum
+		assertThrows(IllegalArgumentException.class, () -> Base58.decodeRipemd160Checked(PUB_K1, null, null));
+		assertThrows(IllegalArgumentException.class, () -> Base58.decodeRipemd160Checked(LEGACY_PUB, "K1".getBytes(), null));
+		assertThrows(IllegalArgumentException.class, () -> Base58.decodeChecked(LEGACY_PUB));
+
+		// too short to hold a checksum
+		assertThrows(IllegalArgumentException.class, () -> Base58.decodeChecked("2g"));
+		assertThrows(IllegalArgumentException.class, () -> Base58.decodeChecked(""));
+	}
+
+	private static String corrupt(String input) {
+		char last = input.charAt(input.length() - 1);
+		return input.substring(0, input.length() - 1) + (last == '2' ? '3' : '2');
+	}
+}
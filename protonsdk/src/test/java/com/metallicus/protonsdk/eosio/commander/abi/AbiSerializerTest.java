@@ -0,0 +1,235 @@
+package com.metallicus.protonsdk.eosio.commander.abi;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+import com.metallicus.protonsdk.eosio.commander.HexUtils;
+import com.metallicus.protonsdk.eosio.commander.model.types.EosBufferReader;
+import com.metallicus.protonsdk.eosio.commander.model.types.EosByteReader;
+import com.metallicus.protonsdk.eosio.commander.model.types.EosByteWriter;
+import com.metallicus.protonsdk.eosio.commander.model.types.EosType;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.nio.ByteBuffer;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+
+/**
+ * Packs fixed values and compares them with binargs computed independently of this serializer.
+ */
+public class AbiSerializerTest {
+
+	private static final String ABI = "{\"account_name\":\"test\",\"abi\":{\"version\":\"eosio::abi/1.1\","
+		+ "\"types\":[{\"new_type_name\":\"account_name\",\"type\":\"name\"},{\"new_type_name\":\"names\",\"type\":\"name[]\"}],"
+		+ "\"structs\":["
+		+ "{\"name\":\"transfer\",\"base\":\"\",\"fields\":["
+		+ "{\"name\":\"from\",\"type\":\"account_name\"},{\"name\":\"to\",\"type\":\"name\"},"
+		+ "{\"name\":\"quantity\",\"type\":\"asset\"},{\"name\":\"memo\",\"type\":\"string\"}]},"
+		+ "{\"name\":\"base\",\"base\":\"\",\"fields\":[{\"name\":\"a\",\"type\":\"uint8\"}]},"
+		+ "{\"name\":\"misc\",\"base\":\"base\",\"fields\":["
+		+ "{\"name\":\"b\",\"type\":\"int16?\"},{\"name\":\"c\",\"type\":\"names\"},{\"name\":\"d\",\"type\":\"v\"},"
+		+ "{\"name\":\"e\",\"type\":\"varint32\"},{\"name\":\"f\",\"type\":\"time_point_sec\"},{\"name\":\"g\",\"type\":\"uint64\"},"
+		+ "{\"name\":\"h\",\"type\":\"bool\"},{\"name\":\"i\",\"type\":\"public_key\"},{\"name\":\"j\",\"type\":\"uint32$\"}]},"
+		+ "{\"name\":\"ext\",\"base\":\"\",\"fields\":["
+		+ "{\"name\":\"a\",\"type\":\"uint8\"},{\"name\":\"j\",\"type\":\"uint32$\"},{\"name\":\"k\",\"type\":\"uint32$\"}]}],"
+		+ "\"variants\":[{\"name\":\"v\",\"types\":[\"uint8\",\"string\"]}],"
+		+ "\"actions\":["
+		+ "{\"name\":\"transfer\",\"type\":\"transfer\",\"ricardian_contract\":\"\"},"
+		+ "{\"name\":\"misc\",\"type\":\"misc\",\"ricardian_contract\":\"\"},"
+		+ "{\"name\":\"ext\",\"type\":\"ext\",\"ricardian_contract\":\"\"}]}}";
+
+	private static final String TRANSFER_JSON = "{\"from\":\"alice\",\"to\":\"bob\",\"quantity\":\"1.0000 XPR\",\"memo\":\"benchmark\"}";
+	private static final String TRANSFER_BINARGS = "0000000000855c340000000000000e3d102700000000000004585052000000000962656e63686d61726b";
+
+	private static final String PUB_KEY = "EOS6MRyAjQq8ud7hVNYcfnVPJqcVpscN5So8BhtHuGYqET5GDW5CV";
+	private static final String PUB_KEY_K1 = "PUB_K1_6MRyAjQq8ud7hVNYcfnVPJqcVpscN5So8BhtHuGYqET5BoDq63";
+	private static final String PUB_KEY_DATA = "02c0ded2bc1f1305fb0faac5e6c03ee3a1924234985427b6167ca569d13df435cf";
+	private static final String PUB_KEY_R1 = "PUB_R1_7eQ5VMbyuk3TvqS38ngVGHbqeuHyK9ASXEw5kmDburVcEgJC8Z";
+	private static final String PUB_KEY_R1_DATA = "036b17d1f2e12c4247f8bce6e563a440f277037d812deb33a0f4a13945d898c296";
+
+	// type, JSON value, binargs
+	private static final String[][] SCALARS = {
+		{"name", "\"\"", "0000000000000000"},
+		{"name", "\"a\"", "0000000000000030"},
+		{"name", "\"1\"", "0000000000000008"},
+		{"name", "\".a\"", "0000000000008001"},
+		{"name", "\"eosio.token\"", "00a6823403ea3055"},
+		{"name", "\"zzzzzzzzzzzzj\"", "ffffffffffffffff"},
+		{"asset", "\"1.0000 XPR\"", "10270000000000000458505200000000"},
+		{"asset", "\"-1.0000 XPR\"", "f0d8ffffffffffff0458505200000000"},
+		{"asset", "\"0 A\"", "00000000000000000041000000000000"},
+		{"asset", "\"92233720368.54775807 ABCDEFG\"", "ffffffffffffff7f0841424344454647"},
+		{"asset", "\"0.000000000000000001 XPR\"", "01000000000000001258505200000000"},
+		{"symbol", "\"4,XPR\"", "0458505200000000"},
+		{"symbol", "\"0,A\"", "0041000000000000"},
+		{"symbol", "\"18,ABCDEFG\"", "1241424344454647"},
+		{"symbol_code", "\"XPR\"", "5850520000000000"},
+		{"time_point_sec", "\"1970-01-01T00:00:00\"", "00000000"},
+		{"time_point_sec", "\"2021-10-01T00:00:30\"", "9e4f5661"},
+		{"time_point_sec", "\"2106-02-07T06:28:15\"", "ffffffff"},
+		{"public_key", "\"" + PUB_KEY + "\"", "00" + PUB_KEY_DATA},
+		{"public_key", "\"" + PUB_KEY_K1 + "\"", "00" + PUB_KEY_DATA},
+		{"public_key", "\"" + PUB_KEY_R1 + "\"", "01" + PUB_KEY_R1_DATA},
+	};
+
+	// type, JSON value that must be rejected
+	private static final String[][] INVALID = {
+		{"asset", "\"1.0000 xpr\""},
+		{"asset", "\"1.0000\""},
+		{"asset", "\"1.0.0 XPR\""},
+		{"symbol", "\"XPR\""},
+		{"name", "\"Alice\""},
+		{"name", "\"bob!\""},
+		{"name", "\"a b\""},
+		{"name", "\"bob6\""},
+		{"name", "\"toolongaccountname\""},
+		{"name", "\"bobbobbobbobzz\""},
+		{"name", "\"zzzzzzzzzzzzk\""},
+		{"public_key", "\"EOS6MRyAjQq8ud7hVNYcfnVPJqcVpscN5So8BhtHuGYqET5GDW5CW\""},
+	};
+
+	private static AbiSerializer serializer() {
+		return new AbiSerializer(EosAbi.fromJson(JsonParser.parseString(ABI).getAsJsonObject()));
+	}
+
+	private static String packAction(AbiSerializer serializer, String action, String json) {
+		return HexUtils.toHex(serializer.packActionData(action, JsonParser.parseString(json)));
+	}
+
+	@Test
+	public void packsTokenTransfer() throws Exception {
+		AbiSerializer serializer = serializer();
+		assertEquals(TRANSFER_BINARGS, packAction(serializer, "transfer", TRANSFER_JSON));
+		assertEquals(JsonParser.parseString(TRANSFER_JSON), serializer.unpackActionData("transfer", HexUtils.toBytes(TRANSFER_BINARGS)));
+	}
+
+	@Test
+	public void unpacksFromByteBuffers() throws Exception {
+		AbiSerializer serializer = serializer();
+		byte[] binargs = HexUtils.toBytes(TRANSFER_BINARGS);
+		JsonElement expected = JsonParser.parseString(TRANSFER_JSON);
+
+		ByteBuffer direct = ByteBuffer.allocateDirect(binargs.length + 3);
+		direct.position(3);
+		direct.put(binargs);
+		direct.position(3);
+		assertEquals(expected, serializer.unpackActionData("transfer", direct));
+		assertEquals(3, direct.position());
+
+		ByteBuffer heap = ByteBuffer.wrap(new byte[binargs.length + 5], 5, binargs.length).slice();
+		heap.put(binargs).flip();
+		assertEquals(expected, serializer.unpackActionData("transfer", heap));
+	}
+
+	@Test
+	public void unpacksMappedFile() throws Exception {
+		AbiSerializer serializer = serializer();
+		byte[] binargs = HexUtils.toBytes(TRANSFER_BINARGS);
+
+		// a mapped file cannot be deleted on every platform while the mapping is alive
+		File file = File.createTempFile("transfers", ".bin");
+		file.deleteOnExit();
+		try (FileOutputStream out = new FileOutputStream(file)) {
+			for (int i = 0; i < 3; i++) {
+				out.write(binargs);
+			}
+		}
+
+		EosBufferReader reader = EosBufferReader.map(file);
+		int count = 0;
+		while (reader.hasRemaining()) {
+			assertEquals(JsonParser.parseString(TRANSFER_JSON), serializer.unpack("transfer", reader));
+			count++;
+		}
+		assertEquals(3, count);
+	}
+
+	@Test
+	public void packsStructWithBaseArrayOptionalVariantAndExtension() throws Exception {
+		AbiSerializer serializer = serializer();
+
+		String full = "{\"a\":7,\"b\":null,\"c\":[\"eosio\"],\"d\":[\"string\",\"hi\"],\"e\":-3,"
+			+ "\"f\":\"2021-10-01T00:00:30\",\"g\":\"18446744073709551615\",\"h\":true,\"i\":\"" + PUB_KEY + "\",\"j\":5}";
+		String fullBinargs = "07" + "00" + "010000000000ea3055" + "01026869" + "05" + "9e4f5661" + "ffffffffffffffff"
+			+ "01" + "00" + PUB_KEY_DATA + "05000000";
+		assertEquals(fullBinargs, packAction(serializer, "misc", full));
+
+		JsonElement fullDecoded = serializer.unpackActionData("misc", HexUtils.toBytes(fullBinargs));
+		assertArrayEquals(HexUtils.toBytes(fullBinargs), serializer.packActionData("misc", fullDecoded));
+
+		// optional present, empty array, first variant alternative, extension left out
+		String other = "{\"a\":7,\"b\":-2,\"c\":[],\"d\":[\"uint8\",42],\"e\":0,"
+			+ "\"f\":\"1970-01-01T00:00:00\",\"g\":\"0\",\"h\":false,\"i\":\"" + PUB_KEY + "\"}";
+		String otherBinargs = "07" + "01feff" + "00" + "002a" + "00" + "00000000" + "0000000000000000"
+			+ "00" + "00" + PUB_KEY_DATA;
+		assertEquals(otherBinargs, packAction(serializer, "misc", other));
+
+		JsonObject decoded = serializer.unpackActionData("misc", HexUtils.toBytes(otherBinargs)).getAsJsonObject();
+		assertEquals(-2, decoded.get("b").getAsInt());
+		assertEquals(JsonParser.parseString("[\"uint8\",42]"), decoded.get("d"));
+		assertFalse(decoded.has("j"));
+	}
+
+	@Test
+	public void packsScalarEdgeCases() throws Exception {
+		AbiSerializer serializer = serializer();
+		for (String[] scalar : SCALARS) {
+			EosByteWriter writer = new EosByteWriter(64);
+			serializer.pack(scalar[0], JsonParser.parseString(scalar[1]), writer);
+			assertEquals(scalar[0] + " " + scalar[1], scalar[2], HexUtils.toHex(writer.toBytes()));
+
+			// unpacking and packing again gives the same bytes, whichever form the value was given in
+			JsonElement decoded = serializer.unpack(scalar[0], new EosByteReader(HexUtils.toBytes(scalar[2])));
+			EosByteWriter again = new EosByteWriter(64);
+			serializer.pack(scalar[0], decoded, again);
+			assertEquals(scalar[2], HexUtils.toHex(again.toBytes()));
+		}
+	}
+
+	@Test
+	public void rejectsInvalidScalars() {
+		AbiSerializer serializer = serializer();
+		for (String[] invalid : INVALID) {
+			assertThrows(invalid[0] + " " + invalid[1], IllegalArgumentException.class,
+				() -> serializer.pack(invalid[0], JsonParser.parseString(invalid[1]), new EosByteWriter(64)));
+		}
+		assertThrows(IllegalArgumentException.class, () -> serializer.packActionData("transfer", new JsonPrimitive(1)));
+		assertThrows(IllegalArgumentException.class,
+			() -> serializer.packActionData("transfer", JsonParser.parseString(TRANSFER_JSON.replace("\"bob\"", "\"bob!\""))));
+		assertThrows(IllegalArgumentException.class, () -> serializer.packActionData("nope", new JsonObject()));
+	}
+
+	@Test
+	public void absentBinaryExtensionsAreSkipped() throws Exception {
+		AbiSerializer serializer = serializer();
+
+		JsonObject none = serializer.unpackActionData("ext", HexUtils.toBytes("07")).getAsJsonObject();
+		assertEquals(7, none.get("a").getAsInt());
+		assertFalse(none.has("j"));
+		assertFalse(none.has("k"));
+
+		JsonObject one = serializer.unpackActionData("ext", HexUtils.toBytes("0705000000")).getAsJsonObject();
+		assertEquals(5, one.get("j").getAsInt());
+		assertFalse(one.has("k"));
+
+		JsonElement both = serializer.unpackActionData("ext", HexUtils.toBytes("070500000006000000"));
+		assertEquals(JsonParser.parseString("{\"a\":7,\"j\":5,\"k\":6}"), both);
+	}
+
+	@Test
+	public void truncatedBinaryExtensionIsAnError() {
+		AbiSerializer serializer = serializer();
+
+		assertThrows(EosType.InsufficientBytesException.class,
+			() -> serializer.unpackActionData("ext", HexUtils.toBytes("070500")));
+		assertThrows(EosType.InsufficientBytesException.class,
+			() -> serializer.unpackActionData("ext", HexUtils.toBytes("07050000000600")));
+	}
+}
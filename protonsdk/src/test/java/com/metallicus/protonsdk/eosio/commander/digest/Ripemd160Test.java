@@ -0,0 +1,130 @@
+package com.metallicus.protonsdk.eosio.commander.digest;
+
+import com.metallicus.protonsdk.eosio.commander.HexUtils;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class Ripemd160Test {
+
+	// message, hash; from the RIPEMD-160 reference test vectors
+	private static final String[][] VECTORS = {
+		{"", "9c1185a5c5e9fc54612808977ee8f548b2258d31"},
+		{"abc", "8eb208f7e05d987a9b044a8e98c6b087f15a0bfc"},
+		{"message digest", "5d0689ef49d2fae572b881b123a85ffa21595f36"},
+		{"abcdbcdecdefdefgefghfghighijhijkijkljklmklmnlmnomnopnopq", "12a053384a9c0c88e405a06c27dcf49ada62eb2b"},
+		{"12345678901234567890123456789012345678901234567890123456789012345678901234567890", "9b752e45573d4b39f4dbd3323cab82bf63326bfb"},
+	};
+
+	private static final String MILLION_A = "52783243c1697bdbe16d37f97f68f08325dc1528";
+
+	// hash of the concatenated hashes of pattern(0) .. pattern(200), which cross every padding boundary
+	private static final String PATTERN_HASHES = "b18ccefa55401e32ef5d6fd65c675ec7f2c8e2ad";
+	private static final int MAX_PATTERN_LENGTH = 200;
+
+	private static byte[] pattern(int length) {
+		byte[] bytes = new byte[length];
+		for (int i = 0; i < length; i++) {
+			bytes[i] = (byte) (i % 251);
+		}
+		return bytes;
+	}
+
+	private static String hex(Ripemd160 hash) {
+		return HexUtils.toHex(hash.bytes());
+	}
+
+	@Test
+	public void hashesKnownVectors() {
+		for (String[] vector : VECTORS) {
+			byte[] message = vector[0].getBytes(StandardCharsets.US_ASCII);
+			assertEquals(vector[1], hex(Ripemd160.from(message)));
+			assertEquals(vector[1], hex(Ripemd160.from(ByteBuffer.wrap(message))));
+		}
+	}
+
+	@Test
+	public void hashesMillionA() {
+		byte[] message = new byte[1000000];
+		Arrays.fill(message, (byte) 'a');
+		assertEquals(MILLION_A, hex(Ripemd160.from(message)));
+
+		// same message in uneven chunks, so that updates straddle block boundaries
+		Ripemd160.Digest digest = new Ripemd160.Digest();
+		Random random = new Random(15);
+		for (int offset = 0; offset < message.length; ) {
+			int count = Math.min(random.nextInt(200), message.length - offset);
+			digest.update(message, offset, count);
+			offset += count;
+		}
+		byte[] out = new byte[20];
+		digest.doFinal(out, 0);
+		assertEquals(MILLION_A, HexUtils.toHex(out));
+	}
+
+	@Test
+	public void hashesAcrossBlockBoundaries() {
+		ByteArrayOutputStream hashes = new ByteArrayOutputStream();
+		Ripemd160.Digest digest = new Ripemd160.Digest();
+		byte[] out = new byte[20];
+		for (int length = 0; length <= MAX_PATTERN_LENGTH; length++) {
+			byte[] message = pattern(length);
+			byte[] expected = Ripemd160.from(message).bytes();
+			hashes.write(expected, 0, expected.length);
+
+			// a byte at a time, reusing the digest after doFinal
+			for (byte b : message) {
+				digest.update(b);
+			}
+			digest.doFinal(out, 0);
+			assertArrayEquals(expected, out);
+
+			// offset into a larger array
+			byte[] padded = new byte[length + 7];
+			System.arraycopy(message, 0, padded, 3, length);
+			assertArrayEquals(expected, Ripemd160.from(padded, 3, length).bytes());
+		}
+		assertEquals(PATTERN_HASHES, hex(Ripemd160.from(hashes.toByteArray())));
+	}
+
+	@Test
+	public void hashesByteBuffers() {
+		for (int length = 0; length <= MAX_PATTERN_LENGTH; length += 13) {
+			byte[] message = pattern(length);
+			byte[] expected = Ripemd160.from(message).bytes();
+
+			ByteBuffer direct = ByteBuffer.allocateDirect(length + 10);
+			direct.position(4);
+			direct.put(message);
+			direct.position(4).limit(4 + length);
+			assertArrayEquals(expected, Ripemd160.from(direct).bytes());
+			assertEquals(direct.limit(), direct.position());
+
+			// heap buffer with a non-zero array offset
+			byte[] backing = new byte[length + 10];
+			System.arraycopy(message, 0, backing, 5, length);
+			ByteBuffer heap = ByteBuffer.wrap(backing, 5, length).slice();
+			assertArrayEquals(expected, Ripemd160.from(heap).bytes());
+			assertEquals(0, heap.remaining());
+		}
+	}
+
+	@Test
+	public void hashesSuffix() {
+		byte[] data = pattern(33);
+		byte[] suffix = "K1".getBytes(StandardCharsets.US_ASCII);
+		byte[] joined = Arrays.copyOf(data, data.length + suffix.length);
+		System.arraycopy(suffix, 0, joined, data.length, suffix.length);
+
+		assertEquals("c9b6b8ecfd92cf312ad9cbb3f044ae4989a2c5f6", hex(Ripemd160.from(data, 0, data.length, suffix)));
+		assertArrayEquals(Ripemd160.from(joined).bytes(), Ripemd160.from(data, 0, data.length, suffix).bytes());
+	}
+}
@@ -0,0 +1,129 @@
+package com.metallicus.protonsdk.eosio.commander.ec;
+
+import com.metallicus.protonsdk.eosio.commander.HexUtils;
+import com.metallicus.protonsdk.eosio.commander.digest.Sha256;
+
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Known-answer vectors for deterministic signing and key recovery, captured from the
+ * BigInteger-based implementation that preceded the fixed-width field arithmetic.
+ */
+public class EcDsaTest {
+
+	// curve type, private key, message, public key, signature
+	private static final String[][] VECTORS = {
+		{"0", "0000000000000000000000000000000000000000000000000000000000000001", "",
+				"EOS5p78kHbL33Rn3JWkTWRE2B9uz6gy4r1KbfAKLNQGE3ovMBS5bu",
+				"SIG_K1_Jyvvz5yLSg37czhhXUvELbzhCkhMnxznXxR3VgMVsTaX9ccrGRUky8Ua9H4qcfHSkueBXys8BrGTRiGqNkucCfULCa73Aq"},
+		{"0", "0000000000000000000000000000000000000000000000000000000000000001", "sample",
+				"EOS5p78kHbL33Rn3JWkTWRE2B9uz6gy4r1KbfAKLNQGE3ovMBS5bu",
+				"SIG_K1_JwjiHsobqtpncH5BzYvutBKBHkNhcr2H8s1ioj4C8cxmUMamHQvipYE2Jbh7vEsidVU27gKhAZP66Vsy8FLjHvz4PaTaqF"},
+		{"0", "0000000000000000000000000000000000000000000000000000000000000001", "test",
+				"EOS5p78kHbL33Rn3JWkTWRE2B9uz6gy4r1KbfAKLNQGE3ovMBS5bu",
+				"SIG_K1_KW2aexvBFdAiy7wAU3dk9fA6Ka2HjeS3V1te3wXyfp6kVuy9RaXurT9onfLffr7EGLwRnoyZuCg82nDgKAQ7onqh2bNM35"},
+		{"0", "0000000000000000000000000000000000000000000000000000000000000001", "Proton transaction",
+				"EOS5p78kHbL33Rn3JWkTWRE2B9uz6gy4r1KbfAKLNQGE3ovMBS5bu",
+				"SIG_K1_K82pm1JajPSHwQHft4yWeCdF2uRG1KRZuD2WSZhQ6q8N2CT1MtkKp3Bb1bVC3Y2jRZ3TXbM23bhsL1rvkCSrRiFyv7GK3U"},
+		{"0", "fffffffffffffffffffffffffffffffebaaedce6af48a03bbfd25e8cd0364140", "",
+				"EOS7krJyjdBTieurtDf38RBLmvq6iQcmgt7EjGZV4JFt4CQyumk8G",
+				"SIG_K1_K4j1HP6AVoDtVWhHtFhA31Dtda5sPvRxF489XJcfufXtESFejDHMstxvwbDWgNYBRfHrbogjmJXnEBkRL4CgGtLsneD1Hm"},
+		{"0", "fffffffffffffffffffffffffffffffebaaedce6af48a03bbfd25e8cd0364140", "sample",
+				"EOS7krJyjdBTieurtDf38RBLmvq6iQcmgt7EjGZV4JFt4CQyumk8G",
+				"SIG_K1_Jzzhp3foa57AmwnfTsxqPVvtEEfzjy57FsGjgTpm2kMJabSNDRodfirnkZYng9Cef1mEPHu12pYaq52uXNLmbNEgMpzs3G"},
+		{"0", "fffffffffffffffffffffffffffffffebaaedce6af48a03bbfd25e8cd0364140", "test",
+				"EOS7krJyjdBTieurtDf38RBLmvq6iQcmgt7EjGZV4JFt4CQyumk8G",
+				"SIG_K1_KeFrQ39XgXYdTXpQpvqHMq455n12qQS2GdwrbMGvB9WXMs3jem9Pywf1kCaRKuP73Fgm7e1PHSYLu2Tei1Wu4YpspDp4hj"},
+		{"0", "fffffffffffffffffffffffffffffffebaaedce6af48a03bbfd25e8cd0364140", "Proton transaction",
+				"EOS7krJyjdBTieurtDf38RBLmvq6iQcmgt7EjGZV4JFt4CQyumk8G",
+				"SIG_K1_Jz4WuyTkNEiyrjCgwTAEXXgs1FgacxuK4rZNgmZa1PVi3qsgX4bPy1zJB8QcUUQeDEcvvDhALPZbUHxhvp6StMGLbxi4WY"},
+		{"0", "c9afa9d845ba75166b5c215767b1d6934e50c3db36e89b127b8a622b120f6721", "",
+				"EOS7ArSTJF5jbSNVxx3aaYAiLQv7UwAa3Lby3rcUNiFkudG4St8sg",
+				"SIG_K1_Ki3K69yNXfGVB8Cu3qWibPaZZKcws8akYCPh1yxmK12XanNmTisQmdPt8G4KbKocMFqMqFmW6cMfqXHbMPv8zt1YYXRPvn"},
+		{"0", "c9afa9d845ba75166b5c215767b1d6934e50c3db36e89b127b8a622b120f6721", "sample",
+				"EOS7ArSTJF5jbSNVxx3aaYAiLQv7UwAa3Lby3rcUNiFkudG4St8sg",
+				"SIG_K1_KWqXswEAbd6LmSvwHUw63EcXr3NkhSmwq5qLJ8DAhd6qYLPECcpfV12sMcuYGB8f2f4e5j7G1V9YKB92meRrwdo1xM7ic8"},
+		{"0", "c9afa9d845ba75166b5c215767b1d6934e50c3db36e89b127b8a622b120f6721", "test",
+				"EOS7ArSTJF5jbSNVxx3aaYAiLQv7UwAa3Lby3rcUNiFkudG4St8sg",
+				"SIG_K1_KfkHYBpkCJeNiSfKF1sJps64wviuAUyQBasKEAyNS9Acy4BD9f4X4q1coA6PBbLWHBX6gwDSkC2FXNXGMJLqihMgk1wnxH"},
+		{"0", "c9afa9d845ba75166b5c215767b1d6934e50c3db36e89b127b8a622b120f6721", "Proton transaction",
+				"EOS7ArSTJF5jbSNVxx3aaYAiLQv7UwAa3Lby3rcUNiFkudG4St8sg",
+				"SIG_K1_Ki6EURfGMpYfwPWB4up41J4u72kmDdipJ41nPWgm6e8AaEcjZLS7oMkwD1FsWQPV27cYwi9PWjcedKLZGo7uZ94ugB5Qa6"},
+		{"0", "7f0000000000000000000000000000000000000000000000000000000000ffff", "",
+				"EOS6PChrQjBgCuTDW99HZkEGstL8cDhqyDQYGLDYJYZhCbxkEPTD7",
+				"SIG_K1_K9TYxMgp2RuPPbz7b1xedCZ5GQ5iYBNM2fnKGMJERw7Loz1FtCFzTKX28KRKyFq8pxfqMDSCij54fVPmu8grnaZnr4Cksj"},
+		{"0", "7f0000000000000000000000000000000000000000000000000000000000ffff", "sample",
+				"EOS6PChrQjBgCuTDW99HZkEGstL8cDhqyDQYGLDYJYZhCbxkEPTD7",
+				"SIG_K1_Ke3jSVgHJPo81znP2b7GT4knyBqJXsvmgRFxQvq4J79ZBPNHdZAgaNfrov4Yo2ZwRR4bqUqBMh5bPk98zeuyYPB2noWmPB"},
+		{"0", "7f0000000000000000000000000000000000000000000000000000000000ffff", "test",
+				"EOS6PChrQjBgCuTDW99HZkEGstL8cDhqyDQYGLDYJYZhCbxkEPTD7",
+				"SIG_K1_KeGzgQL2xUqfMGzJV8tPARZSjbr83ATdN7zDxVatgU1BrW7W7RKknvkZLewFvBNEA9ULV43qWSbd9uKwZXLdXTn4H5CKEJ"},
+		{"0", "7f0000000000000000000000000000000000000000000000000000000000ffff", "Proton transaction",
+				"EOS6PChrQjBgCuTDW99HZkEGstL8cDhqyDQYGLDYJYZhCbxkEPTD7",
+				"SIG_K1_JvciwNn3CTVgVWrGVaLN6o12GTxzqto8NAHChbPUHL8ZxmcPwrUi5UJyqjAD8wsUptC9NB9WaBf6pfkzEbzfCH8GmXhzcX"},
+		{"1", "0000000000000000000000000000000000000000000000000000000000000001", "",
+				"PUB_R1_7eQ5VMbyuk3TvqS38ngVGHbqeuHyK9ASXEw5kmDburVcEgJC8Z",
+				"SIG_R1_Kf6bWUpFwpVYxVWuFg6dcGwUKsKbHKgUwDR7HkZXB6UPvcdDquCmRoe4x4ymUCjo9HA9nu9MCxiErDJ3VRFjShxGV42Uyd"},
+		{"1", "0000000000000000000000000000000000000000000000000000000000000001", "sample",
+				"PUB_R1_7eQ5VMbyuk3TvqS38ngVGHbqeuHyK9ASXEw5kmDburVcEgJC8Z",
+				"SIG_R1_Kcp7zLGHoLxU2EDqP2HmqrGEx5RKEYj4Gfr4Ke5LXcbq7agfGxpaZoYpXVWKznmiByMBDRQPtbB6g53VEDBsr6YYw8czW7"},
+		{"1", "0000000000000000000000000000000000000000000000000000000000000001", "test",
+				"PUB_R1_7eQ5VMbyuk3TvqS38ngVGHbqeuHyK9ASXEw5kmDburVcEgJC8Z",
+				"SIG_R1_Ka51U1UigTnpbRyU3kng61psho9f68VspAjpNNaFYa4ifKWXFVjWt5nWfM4Y9w5xzn3JPMbVx21tjB7tyNS6xZZCsfAh5B"},
+		{"1", "0000000000000000000000000000000000000000000000000000000000000001", "Proton transaction",
+				"PUB_R1_7eQ5VMbyuk3TvqS38ngVGHbqeuHyK9ASXEw5kmDburVcEgJC8Z",
+				"SIG_R1_KUpWcJ7VaEEzAxKn3iSquVmH6e2CBcDpyszESp98TeEZ3mo3yYovmhT98A7LuGZyeXc5f3KRvMiv42nkN7wRZRALGcxPP1"},
+		{"1", "c9afa9d845ba75166b5c215767b1d6934e50c3db36e89b127b8a622b120f6721", "",
+				"PUB_R1_7Zx9YriFemErQXxo3A28Swwc5DxbALvLtiMXdBbH1CuW1APmcU",
+				"SIG_R1_K5EyDPvKg83T6f11gwauXNiFFw67Eiwva53Y6G6o8GVrqz2GEF539GnxLZaX3gkfbvjhKyLkQr5hBjuKvjCFyMTcs4xfBq"},
+		{"1", "c9afa9d845ba75166b5c215767b1d6934e50c3db36e89b127b8a622b120f6721", "sample",
+				"PUB_R1_7Zx9YriFemErQXxo3A28Swwc5DxbALvLtiMXdBbH1CuW1APmcU",
+				"SIG_R1_KhkkfRK7GJ41GCW6d994NEjMay39D2LGmNfDsiLDUU5fc2EiVVxv4DLMCYUayFpTyp3MwSBPGHfzMFGnNMhtcYkkSLuqa7"},
+		{"1", "c9afa9d845ba75166b5c215767b1d6934e50c3db36e89b127b8a622b120f6721", "test",
+				"PUB_R1_7Zx9YriFemErQXxo3A28Swwc5DxbALvLtiMXdBbH1CuW1APmcU",
+				"SIG_R1_JzoWruzNKXeY3dicK5691abPtwjWeY4AeFX41TJVBYUwGCSePsCk3JV7fF6LAEa8u2pyrTH1M7HZ8TVewJ62iZKK4vTqrS"},
+		{"1", "c9afa9d845ba75166b5c215767b1d6934e50c3db36e89b127b8a622b120f6721", "Proton transaction",
+				"PUB_R1_7Zx9YriFemErQXxo3A28Swwc5DxbALvLtiMXdBbH1CuW1APmcU",
+				"SIG_R1_Jy5dksPQdercfBRFEbMBxnZmaYDa7FEo7p7nLA1AZMqkz7yQWaeQSEtHaFrQpHsCfWZW4ujzsQaT6tX9AcThEzjxqtj6V4"},
+		{"1", "7f0000000000000000000000000000000000000000000000000000000000ffff", "",
+				"PUB_R1_7VJC25UJK3qgzLLMqg2RADXwnuX27YxywCxAabw2vyLmEGXuke",
+				"SIG_R1_JvDkFByjspUpSooD2eFsvXBvAEou9xDEMcLPXWBiaHakgzoAvvXQpZRUyh1Sk6DfV5MTSfHUKrbWR1hgG5F7q7wroabohu"},
+		{"1", "7f0000000000000000000000000000000000000000000000000000000000ffff", "sample",
+				"PUB_R1_7VJC25UJK3qgzLLMqg2RADXwnuX27YxywCxAabw2vyLmEGXuke",
+				"SIG_R1_K8HsSFNhsMUVFgDGwKU7NcLwUqPSfbGKCJVXE8YviEW1y1GafgPspSjjDz817oVFHpJcuR2AfXTDwftRVNuY45QUuiRye7"},
+		{"1", "7f0000000000000000000000000000000000000000000000000000000000ffff", "test",
+				"PUB_R1_7VJC25UJK3qgzLLMqg2RADXwnuX27YxywCxAabw2vyLmEGXuke",
+				"SIG_R1_Kj7pKxXKHErRv3c32opqgUtyPGFCAuEDypaqpsVzN4jMcp6YYEhxB1zPNdmkzuXtph6pLFSTouWT9JaY98zuAqMu9Pixv4"},
+		{"1", "7f0000000000000000000000000000000000000000000000000000000000ffff", "Proton transaction",
+				"PUB_R1_7VJC25UJK3qgzLLMqg2RADXwnuX27YxywCxAabw2vyLmEGXuke",
+				"SIG_R1_Kk3PEurK5ZxQfd32tCaDSR1jNTjzBzTskUn6DzNYrmqDQXv9orsGqETpcnUCMRkg2KDJJxNexxLLDRgpJ29pWQA2njWK2A"},
+	};
+
+	@Test
+	public void signMatchesKnownAnswers() {
+		for (String[] vector : VECTORS) {
+			EosPrivateKey key = new EosPrivateKey(Integer.parseInt(vector[0]), HexUtils.toBytes(vector[1]));
+			Sha256 hash = Sha256.from(vector[2].getBytes(StandardCharsets.UTF_8));
+
+			assertEquals(vector[3], key.getPublicKey().toString());
+			assertEquals(vector[4], EcDsa.sign(hash, key).toString());
+		}
+	}
+
+	@Test
+	public void recoverMatchesKnownAnswers() {
+		for (String[] vector : VECTORS) {
+			EosPublicKey publicKey = new EosPublicKey(vector[3]);
+			Sha256 hash = Sha256.from(vector[2].getBytes(StandardCharsets.UTF_8));
+			EcSignature signature = new EcSignature(vector[4]);
+
+			assertEquals(publicKey, EcDsa.recoverPubKey(hash.getBytes(), signature));
+			assertTrue(EcDsa.verify(hash.getBytes(), signature, publicKey));
+		}
+	}
+}
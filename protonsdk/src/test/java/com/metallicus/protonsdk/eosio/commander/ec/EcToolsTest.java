@@ -0,0 +1,107 @@
+package com.metallicus.protonsdk.eosio.commander.ec;
+
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks the windowed and GLV point multiplication against a plain affine double-and-add.
+ */
+public class EcToolsTest {
+
+	private static final int RANDOM_SCALARS = 12;
+
+	static EcPoint naiveMultiply(EcPoint p, BigInteger k) {
+		EcPoint result = p.getCurve().getInfinity();
+		for (int i = k.bitLength() - 1; i >= 0; i--) {
+			result = result.twice();
+			if (k.testBit(i)) {
+				result = result.add(p);
+			}
+		}
+		return result;
+	}
+
+	private static List<BigInteger> scalars(CurveParam param) {
+		BigInteger n = param.n();
+		List<BigInteger> scalars = new ArrayList<>();
+		scalars.add(BigInteger.ONE);
+		scalars.add(BigInteger.valueOf(2));
+		scalars.add(BigInteger.valueOf(3));
+		scalars.add(n.subtract(BigInteger.ONE));
+		scalars.add(n.shiftRight(1));
+		scalars.add(Secp256k1Endomorphism.LAMBDA.mod(n));
+		scalars.add(BigInteger.ONE.shiftLeft(128));
+
+		Random random = new Random(param.getCurveParamType());
+		for (int i = 0; i < RANDOM_SCALARS; i++) {
+			scalars.add(new BigInteger(256, random).mod(n));
+		}
+		return scalars;
+	}
+
+	private static EcPoint somePoint(CurveParam param) {
+		return naiveMultiply(param.G(), new BigInteger("1d1f8a6f1b1a6e7e1b0d4a7a2c3a9b5f0e6d7c8b9a0f1e2d3c4b5a6978877665", 16));
+	}
+
+	private static void checkMultiply(int curveType) {
+		CurveParam param = EcTools.getCurveParam(curveType);
+		EcPoint p = somePoint(param);
+		for (BigInteger k : scalars(param)) {
+			EcPoint expected = naiveMultiply(p, k);
+			assertEquals(expected, EcTools.multiply(p, k));
+			assertEquals(expected, EcTools.multiplyJacobian(p, k).toAffine());
+			assertEquals(naiveMultiply(param.G(), k), EcTools.multiplyG(param, k));
+		}
+		assertTrue(EcTools.multiplyJacobian(p, BigInteger.ZERO).isInfinity());
+		assertTrue(EcTools.multiplyJacobian(p, param.n()).isInfinity());
+	}
+
+	private static void checkSumOfMultiplies(int curveType) {
+		CurveParam param = EcTools.getCurveParam(curveType);
+		EcPoint g = param.G();
+		EcPoint q = somePoint(param);
+		List<BigInteger> scalars = scalars(param);
+		for (int i = 0; i < scalars.size(); i++) {
+			BigInteger k = scalars.get(i);
+			BigInteger l = scalars.get((i * 5 + 2) % scalars.size());
+
+			EcPoint expected = naiveMultiply(g, k).add(naiveMultiply(q, l));
+			assertEquals(expected, EcTools.sumOfMultipliesJacobian(new EcPoint[]{g, q}, new BigInteger[]{k, l}).toAffine());
+			assertEquals(expected, EcTools.sumOfTwoMultiplies(g, k, q, l));
+			assertEquals(expected, EcTools.sumOfMultiplyG(param, k, q, l));
+		}
+
+		// terms that cancel, and the same point twice
+		BigInteger k = scalars.get(scalars.size() - 1);
+		assertTrue(EcTools.sumOfMultipliesJacobian(new EcPoint[]{q, q}, new BigInteger[]{k, param.n().subtract(k)}).isInfinity());
+		assertEquals(naiveMultiply(q, BigInteger.valueOf(5)),
+				EcTools.sumOfMultipliesJacobian(new EcPoint[]{q, q}, new BigInteger[]{BigInteger.valueOf(2), BigInteger.valueOf(3)}).toAffine());
+	}
+
+	@Test
+	public void multiplyMatchesDoubleAndAddK1() {
+		checkMultiply(CurveParam.SECP256_K1);
+	}
+
+	@Test
+	public void multiplyMatchesDoubleAndAddR1() {
+		checkMultiply(CurveParam.SECP256_R1);
+	}
+
+	@Test
+	public void sumOfMultipliesMatchesDoubleAndAddK1() {
+		checkSumOfMultiplies(CurveParam.SECP256_K1);
+	}
+
+	@Test
+	public void sumOfMultipliesMatchesDoubleAndAddR1() {
+		checkSumOfMultiplies(CurveParam.SECP256_R1);
+	}
+}
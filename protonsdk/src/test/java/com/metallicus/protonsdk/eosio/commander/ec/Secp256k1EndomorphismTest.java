@@ -0,0 +1,65 @@
+package com.metallicus.protonsdk.eosio.commander.ec;
+
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class Secp256k1EndomorphismTest {
+
+	private static final BigInteger N = Secp256k1Endomorphism.N;
+	private static final BigInteger LAMBDA = Secp256k1Endomorphism.LAMBDA;
+
+	private static final BigInteger BOUND = BigInteger.ONE.shiftLeft(129);
+
+	private static List<BigInteger> scalars() {
+		List<BigInteger> scalars = new ArrayList<>();
+		scalars.add(BigInteger.ZERO);
+		scalars.add(BigInteger.ONE);
+		scalars.add(BigInteger.valueOf(2));
+		scalars.add(N.subtract(BigInteger.ONE));
+		scalars.add(N.subtract(BigInteger.valueOf(2)));
+		scalars.add(N.shiftRight(1));
+		scalars.add(N.shiftRight(1).add(BigInteger.ONE));
+		scalars.add(LAMBDA);
+		scalars.add(LAMBDA.subtract(BigInteger.ONE));
+		scalars.add(N.subtract(LAMBDA));
+		scalars.add(BigInteger.ONE.shiftLeft(128));
+		scalars.add(BigInteger.ONE.shiftLeft(255));
+
+		Random random = new Random(4);
+		for (int i = 0; i < 500; i++) {
+			scalars.add(new BigInteger(256, random).mod(N));
+		}
+		return scalars;
+	}
+
+	@Test
+	public void decomposeRecombinesToScalar() {
+		for (BigInteger k : scalars()) {
+			BigInteger[] split = Secp256k1Endomorphism.decompose(k);
+			assertEquals(k, split[0].add(split[1].multiply(LAMBDA)).mod(N));
+		}
+	}
+
+	@Test
+	public void decomposeProducesShortHalves() {
+		for (BigInteger k : scalars()) {
+			BigInteger[] split = Secp256k1Endomorphism.decompose(k);
+			assertTrue(k.toString(16), split[0].abs().compareTo(BOUND) < 0);
+			assertTrue(k.toString(16), split[1].abs().compareTo(BOUND) < 0);
+		}
+	}
+
+	@Test
+	public void mapMultipliesByLambda() {
+		CurveParam param = EcTools.getCurveParam(CurveParam.SECP256_K1);
+		EcPoint g = param.G();
+		assertEquals(EcToolsTest.naiveMultiply(g, LAMBDA), Secp256k1Endomorphism.map(g));
+	}
+}
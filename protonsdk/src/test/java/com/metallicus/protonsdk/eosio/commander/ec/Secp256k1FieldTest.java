@@ -0,0 +1,145 @@
+package com.metallicus.protonsdk.eosio.commander.ec;
+
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks {@link Secp256k1Field} and {@link Secp256k1FieldElement} against BigInteger arithmetic mod p.
+ */
+public class Secp256k1FieldTest {
+
+	private static final BigInteger P = Secp256k1Field.P;
+
+	private static final int RANDOM_VALUES = 200;
+
+	private static List<BigInteger> values() {
+		List<BigInteger> values = new ArrayList<>();
+		values.add(BigInteger.ZERO);
+		values.add(BigInteger.ONE);
+		values.add(BigInteger.valueOf(2));
+		values.add(P.subtract(BigInteger.ONE));
+		values.add(P.subtract(BigInteger.valueOf(2)));
+		values.add(P.shiftRight(1));
+
+		// limbs that carry on every addition and every partial product
+		values.add(BigInteger.ONE.shiftLeft(255));
+		values.add(BigInteger.ONE.shiftLeft(256).subtract(BigInteger.ONE).mod(P));
+		values.add(BigInteger.ONE.shiftLeft(224).subtract(BigInteger.ONE));
+		values.add(BigInteger.ONE.shiftLeft(32).subtract(BigInteger.ONE));
+		values.add(BigInteger.ONE.shiftLeft(32));
+		values.add(new BigInteger("FFFFFFFF00000000FFFFFFFF00000000FFFFFFFF00000000FFFFFFFF00000000", 16).mod(P));
+		values.add(new BigInteger("00000000FFFFFFFF00000000FFFFFFFF00000000FFFFFFFF00000000FFFFFFFF", 16));
+		values.add(P.subtract(BigInteger.ONE.shiftLeft(32)));
+		values.add(P.subtract(BigInteger.valueOf(977)));
+
+		Random random = new Random(1);
+		for (int i = 0; i < RANDOM_VALUES; i++) {
+			values.add(new BigInteger(256, random).mod(P));
+		}
+		return values;
+	}
+
+	private static Secp256k1FieldElement element(BigInteger x) {
+		return new Secp256k1FieldElement(x);
+	}
+
+	@Test
+	public void roundTripsThroughLimbs() {
+		for (BigInteger x : values()) {
+			assertEquals(x, Secp256k1Field.toBigInteger(Secp256k1Field.fromBigInteger(x)));
+			assertEquals(x, element(x).toBigInteger());
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsValuesNotBelowP() {
+		Secp256k1Field.fromBigInteger(P);
+	}
+
+	@Test
+	public void addSubtractNegateMatchBigInteger() {
+		List<BigInteger> values = values();
+		for (int i = 0; i < values.size(); i++) {
+			BigInteger x = values.get(i);
+			BigInteger y = values.get((i * 7 + 3) % values.size());
+
+			assertEquals(x.add(y).mod(P), element(x).add(element(y)).toBigInteger());
+			assertEquals(x.subtract(y).mod(P), element(x).subtract(element(y)).toBigInteger());
+			assertEquals(x.negate().mod(P), element(x).negate().toBigInteger());
+		}
+	}
+
+	@Test
+	public void multiplySquareMatchBigInteger() {
+		List<BigInteger> values = values();
+		for (BigInteger x : values) {
+			assertEquals(x.multiply(x).mod(P), element(x).square().toBigInteger());
+			for (int j = 0; j < 15; j++) {
+				BigInteger y = values.get(j);
+				assertEquals(x.multiply(y).mod(P), element(x).multiply(element(y)).toBigInteger());
+			}
+		}
+	}
+
+	@Test
+	public void multiplyByMatchesBigInteger() {
+		int[] z = Secp256k1Field.create();
+		for (BigInteger x : values()) {
+			for (int k : new int[]{0, 1, 2, 3, 8, 0x7FFFFFFF}) {
+				Secp256k1Field.multiplyBy(Secp256k1Field.fromBigInteger(x), k, z);
+				assertEquals(x.multiply(BigInteger.valueOf(k)).mod(P), Secp256k1Field.toBigInteger(z));
+			}
+		}
+	}
+
+	@Test
+	public void invertMatchesModInverse() {
+		for (BigInteger x : values()) {
+			if (x.signum() == 0) {
+				continue;
+			}
+			assertEquals(x.modInverse(P), element(x).invert().toBigInteger());
+			assertEquals(BigInteger.ONE, element(x).divide(element(x)).toBigInteger());
+		}
+	}
+
+	@Test
+	public void sqrtMatchesBigInteger() {
+		BigInteger exponent = P.add(BigInteger.ONE).shiftRight(2);
+		int residues = 0;
+		for (BigInteger x : values()) {
+			BigInteger root = x.modPow(exponent, P);
+			boolean isResidue = root.multiply(root).mod(P).equals(x);
+
+			EcFieldElement sqrt = element(x).sqrt();
+			if (isResidue) {
+				residues++;
+				assertEquals(root, sqrt.toBigInteger());
+			} else {
+				assertNull(sqrt);
+			}
+		}
+		assertTrue(residues > 0);
+	}
+
+	@Test
+	public void predicatesMatchBigInteger() {
+		for (BigInteger x : values()) {
+			int[] limbs = Secp256k1Field.fromBigInteger(x);
+			assertEquals(x.signum() == 0, Secp256k1Field.isZero(limbs));
+			assertEquals(x.equals(BigInteger.ONE), Secp256k1Field.isOne(limbs));
+			assertEquals(x.testBit(0), Secp256k1Field.testBit0(limbs));
+		}
+		assertFalse(element(BigInteger.ONE).equals(element(BigInteger.valueOf(2))));
+		assertTrue(element(P.subtract(BigInteger.ONE)).equals(element(BigInteger.ONE).negate()));
+	}
+}
@@ -1,6 +1,7 @@
 rootProject.name = "ProtonKotlinSDK"
 
 include(":protonsdk")
+include(":benchmarks")
 
 pluginManagement {
     repositories {